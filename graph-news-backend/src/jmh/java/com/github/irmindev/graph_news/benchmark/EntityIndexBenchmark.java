@@ -0,0 +1,102 @@
+package com.github.irmindev.graph_news.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.irmindev.graph_news.utils.EntityIndex;
+
+/**
+ * Entity matching cost for one entity-heavy article: every triple subject and
+ * object is resolved against the article's entities, with the previous linear
+ * scan and with the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityIndexBenchmark {
+    private static final String[] WORDS = {
+        "national", "bank", "president", "mexico", "city", "united", "states", "minister",
+        "finance", "reuters", "congress", "party", "union", "european", "trade", "council",
+        "juan", "maria", "garcia", "lopez", "obrador", "biden", "senate", "court"
+    };
+
+    @Param({"50", "500"})
+    int entityCount;
+
+    @Param({"2000"})
+    int queryCount;
+
+    private Map<String, String> entityTypes;
+    private List<String> queries;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entityTypes = new HashMap<>();
+        while (entityTypes.size() < entityCount) {
+            entityTypes.put(phrase(random, 1 + random.nextInt(3)), "ORGANIZATION");
+        }
+        queries = new ArrayList<>(queryCount);
+        for (int i = 0; i < queryCount; i++) {
+            queries.add(phrase(random, 1 + random.nextInt(5)));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (String query : queries) {
+            blackhole.consume(scan(query, entityTypes));
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        // Building the index is part of the per-article cost
+        EntityIndex<String> index = new EntityIndex<>();
+        for (String name : entityTypes.keySet()) {
+            index.add(name, name);
+        }
+        for (String query : queries) {
+            String match = index.findExact(query);
+            if (match == null) match = index.findContaining(query);
+            if (match == null) match = index.findContainedIn(query);
+            blackhole.consume(match);
+        }
+    }
+
+    private static String scan(String text, Map<String, String> entityTypes) {
+        String normalizedText = text.toLowerCase().trim();
+        if (entityTypes.containsKey(normalizedText)) {
+            return normalizedText;
+        }
+        for (String entity : entityTypes.keySet()) {
+            if (entity.toLowerCase().contains(normalizedText) || normalizedText.contains(entity.toLowerCase())) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
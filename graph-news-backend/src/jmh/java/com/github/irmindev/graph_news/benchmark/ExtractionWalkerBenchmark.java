@@ -0,0 +1,64 @@
+package com.github.irmindev.graph_news.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+
+import com.github.irmindev.graph_news.config.RelationVocabularyConfig;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
+import com.github.irmindev.graph_news.service.ExtractionWalker;
+import com.github.irmindev.graph_news.utils.RelationVocabulary;
+
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * Post-annotation extraction cost per article. The article is annotated once
+ * during setup, so only the walk over the annotated document is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExtractionWalkerBenchmark {
+    private static final String PARAGRAPH =
+        "President Andres Manuel Lopez Obrador met with the Bank of Mexico governor in Mexico City on Monday. "
+        + "The central bank was criticized by several senators after the peso fell against the dollar. "
+        + "Reuters reported that Pemex signed an agreement with the Finance Ministry. "
+        + "She said the European Union and the United States would discuss trade with Congress next week. ";
+
+    @Param({"STANDARD", "FULL"})
+    NlpProfile profile;
+
+    @Param({"5", "20"})
+    int paragraphs;
+
+    private CoreDocument document;
+    private RelationVocabulary vocabulary;
+
+    @Setup
+    public void setUp() {
+        Properties props = new Properties();
+        props.setProperty("annotators", profile.getAnnotators());
+        props.setProperty("ner.applyNumericClassifiers", "true");
+        props.setProperty("ner.useSUTime", "0");
+
+        document = new CoreDocument(PARAGRAPH.repeat(paragraphs));
+        new StanfordCoreNLP(props).annotate(document);
+        vocabulary = new RelationVocabularyConfig()
+            .relationVocabulary(new ClassPathResource("relation-vocabulary.txt"), "RELATED_TO");
+    }
+
+    @Benchmark
+    public ExtractionWalker.Extraction walk() {
+        return ExtractionWalker.walk(document, vocabulary, true, profile.includes("parse"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.irmindev.graph_news.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.config.GraphSchemaMigrator;
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.dto.UserDTO;
+import com.github.irmindev.graph_news.model.enums.GraphWriteMode;
+import com.github.irmindev.graph_news.model.enums.Role;
+import com.github.irmindev.graph_news.model.nlp.Entity;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.nlp.Relationship;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.service.EntityIdCache;
+import com.github.irmindev.graph_news.service.GraphWriteBatch;
+import com.github.irmindev.graph_news.service.Neo4jGraphService;
+import com.github.irmindev.graph_news.service.NewsGraphCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency of writing one article to an in-process Neo4j over Bolt, batched vs
+ * one statement per entity/relationship. The "statements" counter reports the
+ * Bolt round trips per article for each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphWriteBenchmark {
+    private static final String[] TYPES = {"PERSON", "ORGANIZATION", "LOCATION", "MISC"};
+    private static final String[] RELATIONS = {"works for", "located in", "met with", "announced", "leads"};
+
+    @Param({"BATCHED", "LEGACY"})
+    GraphWriteMode mode;
+
+    @Param({"80"})
+    int entityCount;
+
+    @Param({"60"})
+    int relationshipCount;
+
+    private Neo4j neo4j;
+    private Driver driver;
+    private Neo4jGraphService graphService;
+    private NewsProcessingResult article;
+    private NewsDTO newsDto;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        neo4j = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+        driver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none());
+        IngestionMetrics metrics = new IngestionMetrics(new SimpleMeterRegistry());
+        EntityIdCache entityIdCache = new EntityIdCache(10_000, metrics);
+        new GraphSchemaMigrator(driver, entityIdCache, 60).migrate();
+        NewsGraphCache newsGraphCache = new NewsGraphCache(100, new ObjectMapper(), metrics);
+        graphService = new Neo4jGraphService(driver, entityIdCache, newsGraphCache, mode);
+        article = article(entityCount, relationshipCount);
+        newsDto = new NewsDTO(1L, "Benchmark article", article.getText(),
+            new UserDTO(1L, "bench", "bench@example.com", Role.USER), LocalDateTime.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        driver.close();
+        neo4j.close();
+    }
+
+    @Benchmark
+    public void storeArticle(RoundTrips roundTrips) {
+        graphService.storeProcessedNews(article, newsDto);
+        roundTrips.statements += statementsPerArticle();
+    }
+
+    // Steady state: every entity id is cached after the first article, so no upsert statement is sent
+    private long statementsPerArticle() {
+        if (mode == GraphWriteMode.BATCHED) {
+            // News node, mentions of known entities, one per relationship type
+            return 2 + GraphWriteBatch.of(article, newsDto, ExtractionTrace.NOOP).getRelationshipTypeCount();
+        }
+        // News node, one mention per entity, one per relationship
+        return 1 + entityCount + relationshipCount;
+    }
+
+    private static NewsProcessingResult article(int entityCount, int relationshipCount) {
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity();
+            entity.setName("Entity " + i);
+            entity.setType(TYPES[i % TYPES.length]);
+            entity.setMentionCount(1 + i % 4);
+            entities.add(entity);
+        }
+        List<Relationship> relationships = new ArrayList<>();
+        for (int i = 0; i < relationshipCount; i++) {
+            Relationship relationship = new Relationship();
+            relationship.setSourceEntity("Entity " + i % entityCount);
+            relationship.setTargetEntity("Entity " + (i * 7 + 3) % entityCount);
+            relationship.setType(RELATIONS[i % RELATIONS.length]);
+            relationship.setConfidence(0.8);
+            relationships.add(relationship);
+        }
+        NewsProcessingResult result = new NewsProcessingResult();
+        result.setTitle("Benchmark article");
+        result.setText("Benchmark article text");
+        result.setEntities(entities);
+        result.setRelationships(relationships);
+        return result;
+    }
+}
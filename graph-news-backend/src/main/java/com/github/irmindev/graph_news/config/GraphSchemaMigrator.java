@@ -0,0 +1,300 @@
+package com.github.irmindev.graph_news.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.model.exception.graph.GraphSchemaMigrationException;
+import com.github.irmindev.graph_news.service.EntityIdCache;
+import com.github.irmindev.graph_news.service.GraphWriteBatch;
+
+/**
+ * Brings the Neo4j schema (constraints, indexes and the data backfills they
+ * need) up to date before the app serves traffic. Migrations are applied in
+ * version order, each statement as its own auto-commit transaction since
+ * schema and data changes can't share one (large backfills batch themselves
+ * with {@code CALL ... IN TRANSACTIONS}), and the last applied version is
+ * stored on a {@code SchemaVersion} node. Every statement is idempotent, so a migration
+ * interrupted halfway is simply applied again on the next start. Statements
+ * that merge Entity nodes return the ids they removed as {@code removedId},
+ * which are dropped from the {@link EntityIdCache}.
+ *
+ * Entity keys are never computed in Cypher: a migration that rekeys entities
+ * first stages {@link EntityIdCache#key} of every node whose key differs in
+ * {@code e.rekey}, so they match the keys the writers look up.
+ *
+ * Any failure stops startup: running without the constraints would let
+ * concurrent uploads duplicate nodes and every lookup fall back to label scans.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "graph.schema.migrate-on-startup", havingValue = "true", matchIfMissing = true)
+public class GraphSchemaMigrator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(GraphSchemaMigrator.class);
+
+    record Migration(int version, String description, boolean rekeyEntities, List<String> statements) {
+        Migration(int version, String description, List<String> statements) {
+            this(version, description, false, statements);
+        }
+    }
+
+    static final String APPLY_STAGED_KEYS =
+        "MATCH (e:Entity) WHERE e.rekey IS NOT NULL " +
+        "CALL { WITH e SET e.key = e.rekey REMOVE e.rekey } IN TRANSACTIONS OF 1000 ROWS";
+
+    // Keeps the most mentioned node per key and moves the mentions and relationship edges of the others onto it.
+    // Aggregated edges are added to the kept node's edge of the same type; edges from before aggregation
+    // (no support yet) are copied as they are and aggregated by migration 2. Per-article assertions follow
+    // their mentions, and the ones naming a removed node as target are pointed at the kept one.
+    static final String MERGE_DUPLICATE_ENTITIES =
+        "MATCH (e:Entity) " +
+        "WITH e ORDER BY COUNT { (e)-[:MENTIONED_IN]->() } DESC " +
+        "WITH e.key AS key, collect(e) AS nodes WHERE size(nodes) > 1 " +
+        "WITH head(nodes) AS keep, tail(nodes) AS duplicates " +
+        "UNWIND duplicates AS duplicate " +
+        "CALL { " +
+        "  WITH keep, duplicate " +
+        "  CALL { " +
+        "    WITH keep, duplicate " +
+        "    MATCH (other:Entity)-[r]->(duplicate) WHERE r.support IS NOT NULL " +
+        "    WITH DISTINCT other, keep, duplicate, '|' + duplicate.id AS target " +
+        "    MATCH (other)-[m:MENTIONED_IN]->(:News) WHERE any(a IN coalesce(m.assertions, []) WHERE a ENDS WITH target) " +
+        "    SET m.assertions = [a IN m.assertions | " +
+        "      CASE WHEN a ENDS WITH target THEN left(a, size(a) - size(target)) + '|' + keep.id ELSE a END] " +
+        "  } " +
+        "  CALL { " +
+        "    WITH keep, duplicate " +
+        "    MATCH (duplicate)-[m:MENTIONED_IN]->(n:News) " +
+        "    MERGE (keep)-[k:MENTIONED_IN]->(n) " +
+        "    ON CREATE SET k.count = m.count, k.assertions = m.assertions, " +
+        "      k.assertionConfidences = m.assertionConfidences " +
+        "    ON MATCH SET k.count = coalesce(k.count, 0) + coalesce(m.count, 0), " +
+        "      k.assertions = CASE WHEN m.assertions IS NULL THEN k.assertions " +
+        "        ELSE coalesce(k.assertions, []) + m.assertions END, " +
+        "      k.assertionConfidences = CASE WHEN m.assertionConfidences IS NULL THEN k.assertionConfidences " +
+        "        ELSE coalesce(k.assertionConfidences, []) + m.assertionConfidences END " +
+        "  } " +
+        "  CALL { " +
+        "    WITH keep, duplicate " +
+        "    MATCH (duplicate)-[r]-(other:Entity) " +
+        "    WHERE r.support IS NULL AND other.key <> keep.key " +
+        "    WITH r, CASE WHEN startNode(r) = duplicate THEN [keep, other] ELSE [other, keep] END AS ends " +
+        "    WITH r, ends[0] AS source, ends[1] AS target " +
+        "    CREATE (source)-[c:$(type(r))]->(target) SET c = properties(r) " +
+        "  } " +
+        "  CALL { " +
+        "    WITH keep, duplicate " +
+        "    MATCH (duplicate)-[r]-(other:Entity) " +
+        "    WHERE r.support IS NOT NULL AND other.key <> keep.key " +
+        "    WITH r, CASE WHEN startNode(r) = duplicate THEN [keep, other] ELSE [other, keep] END AS ends " +
+        "    WITH r, ends[0] AS source, ends[1] AS target " +
+        "    MERGE (source)-[c:$(type(r))]->(target) " +
+        "    ON CREATE SET c = properties(r) " +
+        "    ON MATCH SET " +
+        "      c.confidence = (coalesce(c.confidenceSum, 0.0) + coalesce(r.confidenceSum, 0.0)) / " +
+        "        (coalesce(c.support, 0) + r.support), " +
+        "      c.maxConfidence = CASE WHEN coalesce(r.maxConfidence, 0.0) > coalesce(c.maxConfidence, 0.0) " +
+        "        THEN r.maxConfidence ELSE c.maxConfidence END, " +
+        "      c.newsIds = (coalesce(c.newsIds, []) + coalesce(r.newsIds, []))[-" + GraphWriteBatch.MAX_SUPPORTING_NEWS + "..], " +
+        "      c.support = coalesce(c.support, 0) + r.support, " +
+        "      c.confidenceSum = coalesce(c.confidenceSum, 0.0) + coalesce(r.confidenceSum, 0.0) " +
+        "  } " +
+        "  WITH duplicate, duplicate.id AS removedId " +
+        "  DETACH DELETE duplicate " +
+        "  RETURN removedId " +
+        "} IN TRANSACTIONS OF 100 ROWS " +
+        "RETURN removedId";
+
+    static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Lookup constraints and indexes", true, List.of(
+            // Entity.key must be set everywhere before it can be unique
+            APPLY_STAGED_KEYS,
+            // Names differing only in case or surrounding whitespace now share a key
+            MERGE_DUPLICATE_ENTITIES,
+            "CREATE CONSTRAINT news_id IF NOT EXISTS FOR (n:News) REQUIRE n.id IS UNIQUE",
+            "CREATE CONSTRAINT entity_id IF NOT EXISTS FOR (e:Entity) REQUIRE e.id IS UNIQUE",
+            "CREATE CONSTRAINT entity_key IF NOT EXISTS FOR (e:Entity) REQUIRE e.key IS UNIQUE",
+            "CREATE INDEX news_source_id IF NOT EXISTS FOR (n:News) ON (n.sourceId)",
+            "CREATE INDEX entity_name_type IF NOT EXISTS FOR (e:Entity) ON (e.name, e.type)"
+        )),
+        new Migration(2, "Aggregate parallel relationship edges", List.of(
+            // Keeps one edge per (source, type, target); provenance of old edges is every article mentioning both ends
+            "MATCH (s:Entity)-[r]->(t:Entity) WHERE r.support IS NULL " +
+            "WITH s, t, type(r) AS relType, collect(r) AS rels " +
+            "CALL { " +
+            "  WITH s, t, rels " +
+            "  WITH s, t, rels, head(rels) AS keep, [x IN rels | coalesce(x.confidence, 0.0)] AS confidences, " +
+            "       [(s)-[:MENTIONED_IN]->(n:News)<-[:MENTIONED_IN]-(t) | n.sourceId] AS sourceIds " +
+            "  SET keep.support = size(rels), " +
+            "      keep.confidenceSum = reduce(total = 0.0, c IN confidences | total + c), " +
+            "      keep.confidence = reduce(total = 0.0, c IN confidences | total + c) / size(rels), " +
+            "      keep.maxConfidence = reduce(m = 0.0, c IN confidences | CASE WHEN c > m THEN c ELSE m END), " +
+            "      keep.newsIds = sourceIds[-" + GraphWriteBatch.MAX_SUPPORTING_NEWS + "..] " +
+            "  FOREACH (x IN tail(rels) | DELETE x) " +
+            "} IN TRANSACTIONS OF 1000 ROWS"
+        )),
+        new Migration(3, "Drop article text from News nodes", List.of(
+            // The text is served from Postgres
+            "MATCH (n:News) WHERE n.text IS NOT NULL " +
+            "CALL { WITH n REMOVE n.text } IN TRANSACTIONS OF 1000 ROWS"
+        )),
+        new Migration(4, "Typed News properties and edge provenance", List.of(
+            // toString(x) = x only holds for strings, so reruns skip converted nodes
+            "MATCH (n:News) WHERE toString(n.sourceId) = n.sourceId " +
+            "CALL { WITH n SET n.sourceId = toInteger(n.sourceId), n.authorId = toInteger(n.authorId), " +
+            "n.createdAt = localdatetime(n.createdAt) } IN TRANSACTIONS OF 1000 ROWS",
+            "MATCH ()-[r]->() WHERE any(x IN r.newsIds WHERE toString(x) = x) " +
+            "CALL { WITH r SET r.newsIds = [x IN r.newsIds | toInteger(x)] } IN TRANSACTIONS OF 1000 ROWS",
+            // news_source_id is a range index already, it now orders integers
+            "CREATE RANGE INDEX news_created_at IF NOT EXISTS FOR (n:News) ON (n.createdAt)"
+        )),
+        new Migration(5, "Unique News.sourceId", List.of(
+            // Retried writes used to create a second node per article; the copies only add MENTIONED_IN edges
+            "MATCH (n:News) WITH n.sourceId AS sourceId, collect(n) AS nodes WHERE size(nodes) > 1 " +
+            "UNWIND tail(nodes) AS duplicate " +
+            "CALL { WITH duplicate DETACH DELETE duplicate } IN TRANSACTIONS OF 1000 ROWS",
+            // The constraint brings its own index on the same property
+            "DROP INDEX news_source_id IF EXISTS",
+            "CREATE CONSTRAINT news_source_id_unique IF NOT EXISTS FOR (n:News) REQUIRE n.sourceId IS UNIQUE"
+        )),
+        new Migration(6, "Per-article relationship assertions", List.of(
+            // Rebuilt from the capped newsIds; articles already rotated out of them can't be recovered
+            // and keep counting in the support of those edges
+            "MATCH (source:Entity)-[r]->(target:Entity) WHERE r.newsIds IS NOT NULL " +
+            "CALL { " +
+            "  WITH source, r, target " +
+            "  UNWIND r.newsIds AS sourceId " +
+            "  MATCH (source)-[m:MENTIONED_IN]->(:News {sourceId: sourceId}) " +
+            "  WITH m, type(r) + '|' + target.id AS assertion " +
+            "  WHERE NOT assertion IN coalesce(m.assertions, []) " +
+            "  SET m.assertions = coalesce(m.assertions, []) + assertion " +
+            "} IN TRANSACTIONS OF 1000 ROWS"
+        )),
+        new Migration(7, "Per-article assertion confidences", List.of(
+            // The article's own confidence was never stored, the edge's average stands in for it
+            "MATCH (source:Entity)-[m:MENTIONED_IN]->(:News) " +
+            "WHERE m.assertions IS NOT NULL AND m.assertionConfidences IS NULL " +
+            "CALL { " +
+            "  WITH source, m " +
+            "  SET m.assertionConfidences = [assertion IN m.assertions | " +
+            "    head([(source)-[r]->(target:Entity) WHERE type(r) + '|' + target.id = assertion | r.confidence])] " +
+            "} IN TRANSACTIONS OF 1000 ROWS"
+        )),
+        new Migration(8, "Entity keys computed like the writers", true, List.of(
+            // Migration 1 used to compute keys in Cypher, whose trim() and toLower() aren't
+            // EntityIdCache.key; corrected keys can collide with existing ones until merged
+            "DROP CONSTRAINT entity_key IF EXISTS",
+            APPLY_STAGED_KEYS,
+            MERGE_DUPLICATE_ENTITIES,
+            "CREATE CONSTRAINT entity_key IF NOT EXISTS FOR (e:Entity) REQUIRE e.key IS UNIQUE"
+        ))
+    );
+
+    private final Driver neo4jDriver;
+    private final EntityIdCache entityIdCache;
+    private final int awaitIndexesSeconds;
+
+    @Autowired
+    public GraphSchemaMigrator(
+        Driver neo4jDriver,
+        EntityIdCache entityIdCache,
+        @Value("${graph.schema.await-indexes-seconds:300}") int awaitIndexesSeconds
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.entityIdCache = entityIdCache;
+        this.awaitIndexesSeconds = awaitIndexesSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    public int migrate() {
+        try (Session session = neo4jDriver.session()) {
+            int current = currentVersion(session);
+            int applied = current;
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= current) continue;
+
+                logger.info("Applying graph schema migration {}: {}", migration.version(), migration.description());
+                if (migration.rekeyEntities()) {
+                    logger.info("Staged new keys for {} entity nodes", stageEntityKeys(session));
+                }
+                List<String> removedIds = new ArrayList<>();
+                for (String statement : migration.statements()) {
+                    for (Record record : session.run(statement).list()) {
+                        if (record.containsKey("removedId")) {
+                            removedIds.add(record.get("removedId").asString());
+                        }
+                    }
+                }
+                if (!removedIds.isEmpty()) {
+                    entityIdCache.invalidateIds(removedIds);
+                    logger.info("Merged {} duplicate entity nodes", removedIds.size());
+                }
+                session.executeWrite(tx -> tx.run(
+                    "MERGE (v:SchemaVersion {id: 'graph'}) " +
+                    "SET v.version = $version, v.description = $description, v.appliedAt = datetime()",
+                    Map.of("version", migration.version(), "description", migration.description())).consume());
+                applied = migration.version();
+            }
+
+            // New constraints and indexes populate in the background
+            session.run("CALL db.awaitIndexes($timeout)", Map.of("timeout", awaitIndexesSeconds)).consume();
+
+            if (applied == current) {
+                logger.info("Graph schema is up to date at version {}", current);
+            } else {
+                logger.info("Graph schema migrated from version {} to {}", current, applied);
+            }
+            return applied;
+        } catch (Exception e) {
+            throw new GraphSchemaMigrationException("Graph schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Streams every entity and stages the key the writers would compute for it, where the stored one differs
+    private int stageEntityKeys(Session session) {
+        List<Map<String, Object>> staged = new ArrayList<>();
+        Result result = session.run(
+            "MATCH (e:Entity) WHERE e.name IS NOT NULL AND e.type IS NOT NULL " +
+            "RETURN elementId(e) AS node, e.name AS name, e.type AS type, e.key AS key");
+        while (result.hasNext()) {
+            Record record = result.next();
+            String key = EntityIdCache.key(record.get("name").asString(), record.get("type").asString());
+            if (!key.equals(record.get("key").asString(null))) {
+                staged.add(Map.of("node", record.get("node").asString(), "key", key));
+            }
+        }
+
+        for (int from = 0; from < staged.size(); from += 1000) {
+            List<Map<String, Object>> batch = staged.subList(from, Math.min(from + 1000, staged.size()));
+            session.executeWrite(tx -> tx.run(
+                "UNWIND $rows AS row MATCH (e:Entity) WHERE elementId(e) = row.node SET e.rekey = row.key",
+                Map.of("rows", batch)).consume());
+        }
+        return staged.size();
+    }
+
+    private int currentVersion(Session session) {
+        List<Record> records = session.run("MATCH (v:SchemaVersion {id: 'graph'}) RETURN v.version AS version").list();
+        return records.isEmpty() ? 0 : records.get(0).get("version").asInt();
+    }
+}
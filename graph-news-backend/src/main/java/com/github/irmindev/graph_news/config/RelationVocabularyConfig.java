@@ -0,0 +1,32 @@
+package com.github.irmindev.graph_news.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import com.github.irmindev.graph_news.utils.RelationVocabulary;
+
+@Configuration
+public class RelationVocabularyConfig {
+
+    @Bean
+    public RelationVocabulary relationVocabulary(
+        @Value("${graph.relations.vocabulary:classpath:relation-vocabulary.txt}") Resource resource,
+        @Value("${graph.relations.fallback-type:RELATED_TO}") String fallbackType
+    ) {
+        try {
+            List<String> lines = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                .lines()
+                .toList();
+            return RelationVocabulary.parse(lines, fallbackType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read relation vocabulary " + resource, e);
+        }
+    }
+}
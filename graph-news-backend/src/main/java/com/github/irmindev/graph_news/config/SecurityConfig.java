@@ -10,6 +10,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -23,6 +24,8 @@ import com.github.irmindev.graph_news.security.UserDetailsServiceImplementation;
 
 @Configuration
 @EnableWebSecurity
+// The @PreAuthorize checks on the controllers are only enforced with method security enabled
+@EnableMethodSecurity
 public class SecurityConfig {
     private final UserDetailsServiceImplementation userDetailsService;
     private final JWTAuthenticationFilter jwtAuthenticationFilter;
@@ -52,6 +55,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/news/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/graph/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/user/image/*").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                // Metrics reveal pool sizes, queue depths and traffic, so scrapers authenticate as an admin
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus").hasAuthority("ADMIN")
+                .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(manager -> manager.sessionCreationPolicy(org.springframework.security.config.http.SessionCreationPolicy.STATELESS))
@@ -0,0 +1,173 @@
+package com.github.irmindev.graph_news.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.irmindev.graph_news.model.response.admin.AdminResponse;
+import com.github.irmindev.graph_news.service.ExtractionTraceService;
+import com.github.irmindev.graph_news.service.GraphGarbageCollector;
+import com.github.irmindev.graph_news.service.GraphOutboxService;
+import com.github.irmindev.graph_news.service.Neo4jGraphService;
+import com.github.irmindev.graph_news.service.NewsGraphCache;
+import com.github.irmindev.graph_news.service.NewsGraphDocumentService;
+import com.github.irmindev.graph_news.service.StanfordNLPProcessor;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private final StanfordNLPProcessor stanfordNLPProcessor;
+    private final ExtractionTraceService extractionTraceService;
+    private final Neo4jGraphService neo4jGraphService;
+    private final GraphOutboxService graphOutboxService;
+    private final GraphGarbageCollector graphGarbageCollector;
+    private final NewsGraphCache newsGraphCache;
+    private final NewsGraphDocumentService newsGraphDocumentService;
+
+    @Autowired
+    public AdminController(StanfordNLPProcessor stanfordNLPProcessor, ExtractionTraceService extractionTraceService,
+                           Neo4jGraphService neo4jGraphService, GraphOutboxService graphOutboxService,
+                           GraphGarbageCollector graphGarbageCollector, NewsGraphCache newsGraphCache,
+                           NewsGraphDocumentService newsGraphDocumentService) {
+        this.stanfordNLPProcessor = stanfordNLPProcessor;
+        this.extractionTraceService = extractionTraceService;
+        this.neo4jGraphService = neo4jGraphService;
+        this.graphOutboxService = graphOutboxService;
+        this.graphGarbageCollector = graphGarbageCollector;
+        this.newsGraphCache = newsGraphCache;
+        this.newsGraphDocumentService = newsGraphDocumentService;
+    }
+
+    /**
+     * Utilization and wait-time counters of the CoreNLP pipeline pool
+     */
+    @GetMapping("/nlp/pool")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getPipelinePoolStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(stanfordNLPProcessor.getPoolStats()));
+    }
+
+    /**
+     * Hit/miss counters of the NLP result cache and the annotation time it saved
+     */
+    @GetMapping("/nlp/cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getResultCacheStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(stanfordNLPProcessor.getCacheStats()));
+    }
+
+    /**
+     * Extraction trace of an article uploaded with {@code trace=true}
+     */
+    @GetMapping("/traces/{newsId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getExtractionTrace(@PathVariable Long newsId) {
+        return extractionTraceService.getTrace(newsId)
+            .map(trace -> ResponseEntity.ok((AdminResponse) new AdminResponse.Success(trace)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new AdminResponse.Failure("No trace recorded for this news")));
+    }
+
+    /**
+     * Size, hit/miss and eviction counters of the entity id cache
+     */
+    @GetMapping("/graph/entity-cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getEntityCacheStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(neo4jGraphService.getEntityCacheStats()));
+    }
+
+    /**
+     * Drops every cached entity id, e.g. after merging or deleting entities by hand
+     */
+    @DeleteMapping("/graph/entity-cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> clearEntityCache() {
+        neo4jGraphService.clearEntityCache();
+        return ResponseEntity.ok(new AdminResponse.Success("Entity cache cleared", neo4jGraphService.getEntityCacheStats()));
+    }
+
+    /**
+     * Size, hit/miss, eviction and invalidation counters of the per-article graph cache
+     */
+    @GetMapping("/graph/news-cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getNewsGraphCacheStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(newsGraphCache.getStats()));
+    }
+
+    /**
+     * Pending, in-progress and dead graph writes, the age of the oldest
+     * unwritten article and the latest failures
+     */
+    @GetMapping("/graph/outbox")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getGraphOutboxStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(graphOutboxService.getStats()));
+    }
+
+    /**
+     * Queues a failed or dead graph write for an immediate retry
+     */
+    @PostMapping("/graph/outbox/{newsId}/retry")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> retryGraphWrite(@PathVariable Long newsId) {
+        if (!graphOutboxService.retry(newsId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new AdminResponse.Failure("No failed graph write for this news"));
+        }
+        return ResponseEntity.ok(new AdminResponse.Success("Graph write queued for retry", graphOutboxService.getStats()));
+    }
+
+    /**
+     * Nodes and edges reclaimed by the last graph garbage collection
+     */
+    @GetMapping("/graph/gc")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getLastGraphCleanup() {
+        if (graphGarbageCollector.getLastReport() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new AdminResponse.Failure("The graph garbage collector hasn't run yet"));
+        }
+        return ResponseEntity.ok(new AdminResponse.Success(graphGarbageCollector.getLastReport()));
+    }
+
+    /**
+     * Runs a graph garbage collection now and reports what it reclaimed
+     */
+    @PostMapping("/graph/gc")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> collectGraphGarbage() {
+        return ResponseEntity.ok(new AdminResponse.Success("Graph garbage collected", graphGarbageCollector.collect()));
+    }
+
+    /**
+     * Number of materialized graph documents and progress of the last backfill
+     */
+    @GetMapping("/graph/documents")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> getGraphDocumentStats() {
+        return ResponseEntity.ok(new AdminResponse.Success(newsGraphDocumentService.getStats()));
+    }
+
+    /**
+     * Starts writing the graph documents of the articles that have none
+     */
+    @PostMapping("/graph/documents/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<AdminResponse> backfillGraphDocuments() {
+        if (!newsGraphDocumentService.startBackfill()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new AdminResponse.Failure("A graph document backfill is already running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(new AdminResponse.Success("Graph document backfill started", newsGraphDocumentService.getStats()));
+    }
+}
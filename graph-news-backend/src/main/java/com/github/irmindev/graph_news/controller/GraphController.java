@@ -1,33 +1,89 @@
 package com.github.irmindev.graph_news.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
+import com.github.irmindev.graph_news.model.response.news.EntityConnectionResponse;
+import com.github.irmindev.graph_news.model.response.news.EntityNeighborhoodResponse;
 import com.github.irmindev.graph_news.model.response.news.GraphResponse;
-import com.github.irmindev.graph_news.model.graph.NewsGraph;
+import com.github.irmindev.graph_news.model.response.news.GraphWindowResponse;
+import com.github.irmindev.graph_news.model.graph.EntityNode;
+import com.github.irmindev.graph_news.model.graph.TimeWindowGraph;
+import com.github.irmindev.graph_news.service.EntityNeighborhoodService;
+import com.github.irmindev.graph_news.service.EntityNeighborhoodService.NeighborhoodQuery;
+import com.github.irmindev.graph_news.service.EntityPathService;
 import com.github.irmindev.graph_news.service.GraphService;
+import com.github.irmindev.graph_news.service.NewsGraphCache;
 
 @RestController
 @RequestMapping("/api/graph")
 public class GraphController {
+    private static final Logger logger = LoggerFactory.getLogger(GraphController.class);
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final GraphService graphService;
+    private final EntityNeighborhoodService entityNeighborhoodService;
+    private final EntityPathService entityPathService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public GraphController(GraphService graphService) {
+    public GraphController(GraphService graphService, EntityNeighborhoodService entityNeighborhoodService,
+                           EntityPathService entityPathService, ObjectMapper objectMapper) {
         this.graphService = graphService;
+        this.entityNeighborhoodService = entityNeighborhoodService;
+        this.entityPathService = entityPathService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Graph of one article. Responses carry an ETag; a request whose
+     * {@code If-None-Match} still matches gets an empty 304.
+     */
     @GetMapping("/news/{newsId}")
-    public ResponseEntity<GraphResponse> getNewsGraph(@PathVariable Long newsId) {
+    public ResponseEntity<GraphResponse> getNewsGraph(@PathVariable Long newsId,
+                                                      @RequestParam(defaultValue = "false") boolean includeText,
+                                                      @RequestParam(required = false) Integer maxEntities,
+                                                      @RequestParam(defaultValue = "0") double minConfidence,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (maxEntities != null && maxEntities <= 0) {
+            return ResponseEntity.badRequest()
+                   .body(new GraphResponse.Failure("maxEntities must be positive"));
+        }
         try {
-            NewsGraph graph = graphService.getNewsGraph(newsId);
-            return ResponseEntity.ok(new GraphResponse.Success(graph));
+            NewsGraphCache.Entry entry = graphService.getCachedNewsGraph(newsId, includeText, maxEntities, minConfidence);
+            // Browsers revalidate on every view instead of reusing a copy blindly
+            if (matches(ifNoneMatch, entry.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                       .eTag(entry.etag())
+                       .cacheControl(CacheControl.noCache())
+                       .build();
+            }
+            return ResponseEntity.ok()
+                   .eTag(entry.etag())
+                   .cacheControl(CacheControl.noCache())
+                   .body(new GraphResponse.Success(entry.graph()));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                    .body(new GraphResponse.Failure(e.getMessage()));
@@ -36,4 +92,144 @@ public class GraphController {
                    .body(new GraphResponse.Failure("Error retrieving graph: " + e.getMessage()));
         }
     }
+
+    /**
+     * Entities and relationships of the news published between {@code from}
+     * (inclusive) and {@code to} (exclusive)
+     */
+    @GetMapping("/window")
+    public ResponseEntity<GraphWindowResponse> getWindowGraph(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (!from.isBefore(to) || limit <= 0) {
+            return ResponseEntity.badRequest()
+                   .body(new GraphWindowResponse.Failure("'from' must be before 'to' and limit must be positive"));
+        }
+        try {
+            TimeWindowGraph graph = graphService.getWindowGraph(from, to, limit);
+            return ResponseEntity.ok(new GraphWindowResponse.Success(graph));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                   .body(new GraphWindowResponse.Failure("Error retrieving graph: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Entities within {@code depth} hops of an entity. {@code fanOut} caps the
+     * neighbors followed per entity at each hop (the last value repeats),
+     * {@code types} restricts the relationship types followed.
+     */
+    @GetMapping("/entity/{entityId}")
+    public ResponseEntity<EntityNeighborhoodResponse> getEntityNeighborhood(
+            @PathVariable String entityId,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "25,10,5") List<Integer> fanOut,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "0") double minConfidence) {
+        NeighborhoodQuery query;
+        try {
+            query = new NeighborhoodQuery(entityId, depth, fanOut, types, minConfidence);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                   .body(new EntityNeighborhoodResponse.Failure(e.getMessage()));
+        }
+        try {
+            return ResponseEntity.ok(new EntityNeighborhoodResponse.Success(entityNeighborhoodService.getNeighborhood(query)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                   .body(new EntityNeighborhoodResponse.Failure(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                   .body(new EntityNeighborhoodResponse.Failure("Error retrieving neighborhood: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Same neighborhood as NDJSON, one line per hop written as soon as the hop
+     * is read. A failure after the first line ends the stream with a failure line.
+     */
+    @GetMapping(value = "/entity/{entityId}/stream", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamEntityNeighborhood(
+            @PathVariable String entityId,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "25,10,5") List<Integer> fanOut,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "0") double minConfidence) {
+        NeighborhoodQuery query;
+        EntityNode root;
+        try {
+            query = new NeighborhoodQuery(entityId, depth, fanOut, types, minConfidence);
+            root = entityNeighborhoodService.getEntity(entityId);
+        } catch (IllegalArgumentException e) {
+            return ndjsonFailure(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ndjsonFailure(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                entityNeighborhoodService.expand(root, query, hop -> writeLine(out, hop));
+            } catch (UncheckedIOException e) {
+                // The client went away
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                logger.error("Error streaming the neighborhood of entity {}", entityId, e);
+                writeLine(out, new EntityNeighborhoodResponse.Failure("Error retrieving neighborhood: " + e.getMessage()));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
+    }
+
+    /**
+     * Up to {@code k} paths between two entities through relationships and
+     * shared articles, shortest first, with the articles behind each edge
+     */
+    @GetMapping("/paths")
+    public ResponseEntity<EntityConnectionResponse> getEntityPaths(@RequestParam String from,
+                                                                   @RequestParam String to,
+                                                                   @RequestParam(defaultValue = "3") int k,
+                                                                   @RequestParam(defaultValue = "4") int maxHops) {
+        try {
+            return ResponseEntity.ok(new EntityConnectionResponse.Success(entityPathService.findPaths(from, to, k, maxHops)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                   .body(new EntityConnectionResponse.Failure(e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                   .body(new EntityConnectionResponse.Failure(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                   .body(new EntityConnectionResponse.Failure("Error retrieving connection: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjsonFailure(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+               .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+               .body(out -> writeLine(out, new EntityNeighborhoodResponse.Failure(message)));
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // If-None-Match uses the weak comparison: W/ prefixes are ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
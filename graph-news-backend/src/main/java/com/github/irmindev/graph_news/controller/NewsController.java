@@ -11,7 +11,10 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
 import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
+import com.github.irmindev.graph_news.model.job.IngestionJob;
 import com.github.irmindev.graph_news.model.request.news.CreateNews;
+import com.github.irmindev.graph_news.model.response.news.IngestionJobResponse;
 import com.github.irmindev.graph_news.model.response.news.NewsUpload;
 import com.github.irmindev.graph_news.model.response.news.NewsResponse;
 import com.github.irmindev.graph_news.service.NewsService;
@@ -19,6 +22,7 @@ import com.github.irmindev.graph_news.utils.JwtUtil;
 import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
 import com.github.irmindev.graph_news.model.exception.UnallowedMethodException;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -44,7 +48,13 @@ public class NewsController {
     }
 
     @PostMapping("/upload/url")
-    public ResponseEntity<NewsUpload> createNewsFromUrl(@RequestBody CreateNews.CreateNewsWithURL createNewsWithURL, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<NewsUpload> createNewsFromUrl(
+        @RequestBody CreateNews.CreateNewsWithURL createNewsWithURL,
+        @RequestHeader("Authorization") String token,
+        @RequestParam(defaultValue = "false") boolean async,
+        @RequestParam(required = false) NlpProfile profile,
+        @RequestParam(defaultValue = "false") boolean trace
+    ) {
         Long id = jwtUtil.extractClaim(token.replace("Bearer ", ""), 
             claims -> claims.get("id", Long.class)
         );
@@ -53,8 +63,12 @@ public class NewsController {
             return ResponseEntity.badRequest().body(new NewsUpload.Failure());
         }
 
+        if (async) {
+            return accepted(newsService.submitFromUrl(createNewsWithURL.getUrl(), id, profile, trace));
+        }
+
         return ResponseEntity.ok(new NewsUpload.Success(
-            newsService.createFromUrl(createNewsWithURL.getUrl(), id)
+            newsService.createFromUrl(createNewsWithURL.getUrl(), id, profile, trace)
         ));
     }
 
@@ -62,7 +76,10 @@ public class NewsController {
     public ResponseEntity<NewsUpload> createNewsFromFile(
         @RequestPart("file") MultipartFile file,
         @RequestPart("request") CreateNews.CreateNewsWithFile createNewsWithFile,
-        @RequestHeader("Authorization") String token
+        @RequestHeader("Authorization") String token,
+        @RequestParam(defaultValue = "false") boolean async,
+        @RequestParam(required = false) NlpProfile profile,
+        @RequestParam(defaultValue = "false") boolean trace
     ) {
         Long id = jwtUtil.extractClaim(token.replace("Bearer ", ""), 
             claims -> claims.get("id", Long.class)
@@ -79,21 +96,12 @@ public class NewsController {
             fileExtension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toLowerCase();
         }
         
-        NewsDTO result;
-        
-        switch (fileExtension) {
-            case "doc":
-            case "docx":
-                result = newsService.createFromDocx(file, createNewsWithFile.getTitle(), id);
-                break;
-            case "pdf":
-                result = newsService.createFromPdf(file, createNewsWithFile.getTitle(), id);
-                break;
-            default:
-                // For txt files or any other file type not explicitly handled
-                result = newsService.createFromTxt(file, createNewsWithFile.getTitle(), id);
-                break;
+        String content = newsService.readContent(file, fileExtension);
+        if (async) {
+            return accepted(newsService.submitNews(createNewsWithFile.getTitle(), content, id, profile, trace));
         }
+
+        NewsDTO result = newsService.createNews(createNewsWithFile.getTitle(), content, id, profile, trace);
         
         return ResponseEntity.ok(new NewsUpload.Success(result));
     }
@@ -101,7 +109,10 @@ public class NewsController {
     @PostMapping("/upload/content")
     public ResponseEntity<NewsUpload> createNewsFromContent(
         @RequestBody CreateNews.CreateNewsWithContent createNewsWithContent,
-        @RequestHeader("Authorization") String token
+        @RequestHeader("Authorization") String token,
+        @RequestParam(defaultValue = "false") boolean async,
+        @RequestParam(required = false) NlpProfile profile,
+        @RequestParam(defaultValue = "false") boolean trace
     ) {
         Long id = jwtUtil.extractClaim(token.replace("Bearer ", ""), 
             claims -> claims.get("id", Long.class)
@@ -111,15 +122,43 @@ public class NewsController {
             return ResponseEntity.badRequest().body(new NewsUpload.Failure());
         }
 
+        if (async) {
+            return accepted(newsService.submitNews(
+                createNewsWithContent.getTitle(),
+                createNewsWithContent.getContent(),
+                id,
+                profile,
+                trace
+            ));
+        }
+
         return ResponseEntity.ok(new NewsUpload.Success(
             newsService.createNews(
                 createNewsWithContent.getTitle(), 
                 createNewsWithContent.getContent(), 
-                id
+                id,
+                profile,
+                trace
             )
         ));
     }
 
+    /**
+     * Reports the state and per-stage timings of an asynchronous upload
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobResponse> getIngestionJob(@PathVariable String jobId) {
+        return newsService.getIngestionJob(jobId)
+            .map(job -> ResponseEntity.ok((IngestionJobResponse) new IngestionJobResponse.Success(job)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new IngestionJobResponse.Failure()));
+    }
+
+    private ResponseEntity<NewsUpload> accepted(IngestionJob job) {
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/news/jobs/" + job.getId()))
+            .body(new NewsUpload.Accepted(job));
+    }
+
     /**
      * Obtiene todas las noticias con paginación
      */
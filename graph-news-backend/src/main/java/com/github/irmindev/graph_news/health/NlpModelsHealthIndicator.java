@@ -0,0 +1,39 @@
+package com.github.irmindev.graph_news.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.service.StanfordNLPProcessor;
+
+/**
+ * Ingestion readiness: reports whether the CoreNLP models finished loading.
+ * It backs the {@code ingestion} health group instead of the main readiness
+ * probe, so read endpoints are routed as soon as the app starts while upload
+ * traffic can be gated on {@code /actuator/health/ingestion}.
+ */
+@Component("nlpModels")
+public class NlpModelsHealthIndicator implements HealthIndicator {
+    private final StanfordNLPProcessor stanfordNLPProcessor;
+
+    @Autowired
+    public NlpModelsHealthIndicator(StanfordNLPProcessor stanfordNLPProcessor) {
+        this.stanfordNLPProcessor = stanfordNLPProcessor;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (stanfordNLPProcessor.getModelState()) {
+            case READY -> Health.up();
+            case LOADING -> Health.outOfService();
+            case FAILED -> Health.down();
+            case DISABLED -> Health.unknown();
+        };
+        builder.withDetail("state", stanfordNLPProcessor.getModelState());
+        if (stanfordNLPProcessor.getModelLoadError() != null) {
+            builder.withDetail("error", stanfordNLPProcessor.getModelLoadError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.irmindev.graph_news.metrics;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.model.graph.GraphCleanupReport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the ingestion path. Stage timers share the {@code ingestion.stage}
+ * name with a {@code stage} tag (fetch, text-extraction, jpa-save, annotate,
+ * extraction, graph-write) so dashboards can stack them; CoreNLP time is
+ * further split per annotator in {@code ingestion.annotator}.
+ */
+@Component
+public class IngestionMetrics {
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final DistributionSummary entities;
+    private final DistributionSummary relationships;
+    private final DistributionSummary triples;
+    private final DistributionSummary graphBatchArticles;
+
+    @Autowired
+    public IngestionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        Gauge.builder("ingestion.inflight", inFlight, AtomicInteger::get)
+            .description("Articles currently being annotated or written to the graph")
+            .register(registry);
+
+        this.entities = perArticle("ingestion.entities", "Entities extracted per article");
+        this.relationships = perArticle("ingestion.relationships", "Relationships extracted per article");
+        this.triples = perArticle("ingestion.triples", "OpenIE triples produced per article");
+        this.graphBatchArticles = DistributionSummary.builder("graph.write.batch.articles")
+            .description("Articles committed per graph write transaction")
+            .register(registry);
+    }
+
+    /**
+     * Times a stage until the returned handle is closed:
+     * {@code try (var stage = metrics.stage("fetch")) { ... }}
+     */
+    public Stage stage(String name) {
+        return new Stage(Timer.start(registry), stageTimer(name));
+    }
+
+    public void recordAnnotator(String annotator, String profile, long nanos) {
+        Timer.builder("ingestion.annotator")
+            .description("CoreNLP annotation time per annotator")
+            .tag("annotator", annotator)
+            .tag("profile", profile)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordExtraction(int entityCount, int relationshipCount, int tripleCount) {
+        entities.record(entityCount);
+        relationships.record(relationshipCount);
+        triples.record(tripleCount);
+    }
+
+    public void recordOutcome(boolean success) {
+        Counter.builder("ingestion.articles")
+            .description("Processed articles by outcome")
+            .tag("outcome", success ? "success" : "failure")
+            .register(registry)
+            .increment();
+    }
+
+    public void articleStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void articleFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public void registerJobQueue(ThreadPoolExecutor executor) {
+        Gauge.builder("ingestion.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Asynchronous ingestion jobs running")
+            .register(registry);
+        Gauge.builder("ingestion.jobs.queued", executor, e -> e.getQueue().size())
+            .description("Asynchronous ingestion jobs waiting for a worker")
+            .register(registry);
+    }
+
+    public void registerGraphWriteQueue(BlockingQueue<?> queue) {
+        Gauge.builder("graph.write.queued", queue, BlockingQueue::size)
+            .description("Articles waiting for the next graph write batch")
+            .register(registry);
+    }
+
+    /**
+     * One graph write transaction; {@code retried} when it re-ran a single
+     * article of a failed batch
+     */
+    public void recordGraphCommit(int articles, boolean success, boolean retried) {
+        graphBatchArticles.record(articles);
+        Counter.builder("graph.write.commits")
+            .description("Graph write transactions by outcome")
+            .tag("outcome", success ? "success" : "failure")
+            .tag("retry", String.valueOf(retried))
+            .register(registry)
+            .increment();
+    }
+
+    public <T> void registerGraphOutbox(T outbox,
+                                        ToDoubleFunction<T> pending,
+                                        ToDoubleFunction<T> dead,
+                                        ToDoubleFunction<T> lagSeconds) {
+        Gauge.builder("graph.outbox.pending", outbox, pending)
+            .description("Articles waiting in the graph outbox")
+            .register(registry);
+        Gauge.builder("graph.outbox.dead", outbox, dead)
+            .description("Articles whose graph write ran out of attempts")
+            .register(registry);
+        Gauge.builder("graph.outbox.lag", outbox, lagSeconds)
+            .description("Age of the oldest article not written to the graph yet")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    /**
+     * One article relayed from the graph outbox, or one failed attempt
+     */
+    public void recordOutboxRelay(boolean success) {
+        Counter.builder("graph.outbox.relayed")
+            .description("Articles written to the graph by the outbox relay, by outcome")
+            .tag("outcome", success ? "success" : "failure")
+            .register(registry)
+            .increment();
+    }
+
+    public void recordGraphCleanup(GraphCleanupReport report) {
+        reclaimed("news", report.newsNodes());
+        reclaimed("entity", report.entityNodes());
+        reclaimed("edge", report.edges());
+    }
+
+    private void reclaimed(String kind, long count) {
+        Counter.builder("graph.gc.reclaimed")
+            .description("Graph nodes and edges removed by the garbage collector")
+            .tag("kind", kind)
+            .register(registry)
+            .increment(count);
+    }
+
+    public <T> void registerPipelinePool(String profile, T pool,
+                                         ToDoubleFunction<T> inUse,
+                                         ToDoubleFunction<T> size) {
+        Gauge.builder("nlp.pool.in_use", pool, inUse)
+            .description("CoreNLP pipelines currently borrowed")
+            .tag("profile", profile)
+            .register(registry);
+        Gauge.builder("nlp.pool.size", pool, size)
+            .description("CoreNLP pipelines in the pool")
+            .tag("profile", profile)
+            .register(registry);
+    }
+
+    public <T> void registerCache(String name, T cache,
+                                  ToDoubleFunction<T> hits,
+                                  ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.lookups", cache, hits)
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.lookups", cache, misses)
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(registry);
+    }
+
+    private Timer stageTimer(String name) {
+        return Timer.builder("ingestion.stage")
+            .description("Time spent per ingestion stage")
+            .tag("stage", name)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private DistributionSummary perArticle(String name, String description) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public static final class Stage implements AutoCloseable {
+        private final Timer.Sample sample;
+        private final Timer timer;
+
+        private Stage(Timer.Sample sample, Timer timer) {
+            this.sample = sample;
+            this.timer = timer;
+        }
+
+        @Override
+        public void close() {
+            sample.stop(timer);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.irmindev.graph_news.model.entity;
+
+import java.time.Instant;
+
+import com.github.irmindev.graph_news.model.enums.GraphOutboxStatus;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Pending graph write of an article. It is saved in the same transaction as
+ * the {@link News} row, so every stored article is eventually written to
+ * Neo4j or ends up {@code DEAD} where an admin can see it.
+ */
+@Entity
+@Table(name = "graph_outbox", indexes = @Index(name = "graph_outbox_due", columnList = "status, next_attempt_at"))
+public class GraphOutboxEvent {
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "news_id", nullable = false, unique = true)
+    private Long newsId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private GraphOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Profile the upload asked for, reused when the relay annotates the article again; null is the configured default
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private NlpProfile profile;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant claimedAt;
+
+    private Instant processedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public GraphOutboxEvent() {
+    }
+
+    public GraphOutboxEvent(Long newsId, NlpProfile profile, Instant createdAt, Instant nextAttemptAt) {
+        this.newsId = newsId;
+        this.profile = profile;
+        this.status = GraphOutboxStatus.PENDING;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getNewsId() {
+        return newsId;
+    }
+
+    public GraphOutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GraphOutboxStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public NlpProfile getProfile() {
+        return profile;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(Instant claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Instant processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.irmindev.graph_news.model.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Serialized graph of one article, written once its graph is in Neo4j so
+ * that reading it takes a single primary-key lookup. Documents of an older
+ * {@code formatVersion} are ignored and rebuilt by the backfill.
+ */
+@Entity
+@Table(name = "news_graph_document")
+public class NewsGraphDocument {
+    public static final int FORMAT_VERSION = 1;
+
+    @Id
+    @Column(name = "news_id")
+    private Long newsId;
+
+    @Column(name = "format_version", nullable = false)
+    private int formatVersion;
+
+    // NewsGraph JSON, every entity of the article ranked by mentions and without the article text
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String graph;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public NewsGraphDocument() {
+    }
+
+    public NewsGraphDocument(Long newsId, String graph, Instant createdAt) {
+        this.newsId = newsId;
+        this.formatVersion = FORMAT_VERSION;
+        this.graph = graph;
+        this.createdAt = createdAt;
+    }
+
+    public Long getNewsId() {
+        return newsId;
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public String getGraph() {
+        return graph;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.irmindev.graph_news.model.enums;
+
+/**
+ * State of an article's graph write in the outbox. A failed attempt goes back
+ * to PENDING with a later retry time, and to DEAD once the attempts run out;
+ * DEAD rows are only retried by an admin.
+ */
+public enum GraphOutboxStatus {
+    PENDING,
+    IN_PROGRESS,
+    DONE,
+    DEAD
+}
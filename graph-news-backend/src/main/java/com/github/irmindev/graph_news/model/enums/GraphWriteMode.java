@@ -0,0 +1,11 @@
+package com.github.irmindev.graph_news.model.enums;
+
+/**
+ * How an article is written to Neo4j. BATCHED sends the article as a fixed set
+ * of UNWIND statements; LEGACY issues one statement per entity, mention and
+ * relationship.
+ */
+public enum GraphWriteMode {
+    BATCHED,
+    LEGACY
+}
@@ -0,0 +1,30 @@
+package com.github.irmindev.graph_news.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum IngestionJobState {
+    QUEUED("queued"),
+    // URL uploads only: the page is fetched before the article is saved
+    FETCHING("fetching"),
+    ANNOTATING("annotating"),
+    WRITING_GRAPH("writing-graph"),
+    DONE("done"),
+    // Annotated and saved, but the graph is left to the outbox relay (a failed write or a relay that claimed it first)
+    GRAPH_PENDING("graph-pending"),
+    FAILED("failed");
+
+    private final String label;
+
+    IngestionJobState(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isFinished() {
+        return this == DONE || this == GRAPH_PENDING || this == FAILED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.irmindev.graph_news.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum NlpModelState {
+    LOADING("loading"),
+    READY("ready"),
+    FAILED("failed"),
+    DISABLED("disabled");
+
+    private final String label;
+
+    NlpModelState(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.irmindev.graph_news.model.enums;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Named CoreNLP annotator sets. Cheaper profiles drop the annotators that only
+ * feed optional extraction steps: constituency parsing (key phrases) and
+ * coreference (pronoun resolution).
+ */
+public enum NlpProfile {
+    FAST("tokenize,ssplit,pos,lemma,ner"),
+    STANDARD("tokenize,ssplit,pos,lemma,ner,depparse,natlog,openie"),
+    FULL("tokenize,ssplit,pos,lemma,ner,depparse,parse,natlog,openie,coref");
+
+    private final String annotators;
+    private final List<String> annotatorList;
+
+    NlpProfile(String annotators) {
+        this.annotators = annotators;
+        this.annotatorList = Arrays.asList(annotators.split(","));
+    }
+
+    public String getAnnotators() {
+        return annotators;
+    }
+
+    public boolean includes(String annotator) {
+        return annotatorList.contains(annotator);
+    }
+}
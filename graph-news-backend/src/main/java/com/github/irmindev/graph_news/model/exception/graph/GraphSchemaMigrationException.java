@@ -0,0 +1,7 @@
+package com.github.irmindev.graph_news.model.exception.graph;
+
+public class GraphSchemaMigrationException extends RuntimeException {
+    public GraphSchemaMigrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
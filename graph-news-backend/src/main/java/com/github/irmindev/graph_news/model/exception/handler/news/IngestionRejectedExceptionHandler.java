@@ -0,0 +1,17 @@
+package com.github.irmindev.graph_news.model.exception.handler.news;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.github.irmindev.graph_news.model.exception.news.IngestionRejectedException;
+import com.github.irmindev.graph_news.model.response.news.NewsUpload;
+
+@RestControllerAdvice
+public class IngestionRejectedExceptionHandler {
+    @ExceptionHandler(IngestionRejectedException.class)
+    public ResponseEntity<NewsUpload.Failure> handleIngestionRejectedException(IngestionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new NewsUpload.Failure(e.getMessage()));
+    }
+}
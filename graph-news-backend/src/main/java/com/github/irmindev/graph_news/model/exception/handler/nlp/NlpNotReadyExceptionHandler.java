@@ -0,0 +1,20 @@
+package com.github.irmindev.graph_news.model.exception.handler.nlp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.github.irmindev.graph_news.model.exception.nlp.NlpNotReadyException;
+import com.github.irmindev.graph_news.model.response.news.NewsUpload;
+
+@RestControllerAdvice
+public class NlpNotReadyExceptionHandler {
+    @ExceptionHandler(NlpNotReadyException.class)
+    public ResponseEntity<NewsUpload.Failure> handleNlpNotReadyException(NlpNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "30")
+            .body(new NewsUpload.Failure(e.getMessage()));
+    }
+}
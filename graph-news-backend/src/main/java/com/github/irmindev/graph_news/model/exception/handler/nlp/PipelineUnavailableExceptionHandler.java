@@ -0,0 +1,17 @@
+package com.github.irmindev.graph_news.model.exception.handler.nlp;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.github.irmindev.graph_news.model.exception.nlp.PipelineUnavailableException;
+import com.github.irmindev.graph_news.model.response.news.NewsUpload;
+
+@RestControllerAdvice
+public class PipelineUnavailableExceptionHandler {
+    @ExceptionHandler(PipelineUnavailableException.class)
+    public ResponseEntity<NewsUpload.Failure> handlePipelineUnavailableException(PipelineUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new NewsUpload.Failure(e.getMessage()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.irmindev.graph_news.model.exception.news;
+
+public class IngestionRejectedException extends RuntimeException {
+    public IngestionRejectedException(String message) {
+        super(message);
+    }
+}
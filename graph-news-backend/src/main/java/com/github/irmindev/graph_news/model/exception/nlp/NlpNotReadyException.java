@@ -0,0 +1,7 @@
+package com.github.irmindev.graph_news.model.exception.nlp;
+
+public class NlpNotReadyException extends RuntimeException {
+    public NlpNotReadyException(String message) {
+        super(message);
+    }
+}
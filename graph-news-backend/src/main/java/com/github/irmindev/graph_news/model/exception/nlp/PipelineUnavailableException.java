@@ -0,0 +1,7 @@
+package com.github.irmindev.graph_news.model.exception.nlp;
+
+public class PipelineUnavailableException extends RuntimeException {
+    public PipelineUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One path between two entities; {@code edges[i]} joins {@code nodes[i]}
+ * and {@code nodes[i + 1]}.
+ */
+public class ConnectionPath {
+    private int length;
+    private List<PathNode> nodes;
+    private List<PathEdge> edges;
+
+    public ConnectionPath() {
+    }
+
+    public ConnectionPath(List<PathNode> nodes, List<PathEdge> edges) {
+        this.length = edges.size();
+        this.nodes = nodes;
+        this.edges = edges;
+    }
+
+    /**
+     * The same path walked from the other end
+     */
+    public ConnectionPath reversed() {
+        List<PathNode> reversedNodes = new ArrayList<>(nodes);
+        List<PathEdge> reversedEdges = new ArrayList<>(edges);
+        Collections.reverse(reversedNodes);
+        Collections.reverse(reversedEdges);
+        return new ConnectionPath(reversedNodes, reversedEdges);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public List<PathNode> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<PathNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<PathEdge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<PathEdge> edges) {
+        this.edges = edges;
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.util.List;
+
+/**
+ * Paths between two entities, shortest first, through relationships and
+ * shared articles (entity - MENTIONED_IN - article - MENTIONED_IN - entity).
+ */
+public class EntityConnection {
+    private EntityNode from;
+    private EntityNode to;
+    private int maxHops;
+    private List<ConnectionPath> paths;
+    // Entities and articles left out of the search for having too many edges
+    private int prunedHubs;
+    // Whether the search stopped early: time limit reached or frontier cut at its cap
+    private boolean incomplete;
+
+    public EntityConnection() {
+    }
+
+    public EntityConnection(EntityNode from, EntityNode to, int maxHops, List<ConnectionPath> paths,
+                            int prunedHubs, boolean incomplete) {
+        this.from = from;
+        this.to = to;
+        this.maxHops = maxHops;
+        this.paths = paths;
+        this.prunedHubs = prunedHubs;
+        this.incomplete = incomplete;
+    }
+
+    /**
+     * The same connection seen from {@code to}
+     */
+    public EntityConnection reversed() {
+        return new EntityConnection(to, from, maxHops,
+            paths.stream().map(ConnectionPath::reversed).toList(), prunedHubs, incomplete);
+    }
+
+    public EntityNode getFrom() {
+        return from;
+    }
+
+    public void setFrom(EntityNode from) {
+        this.from = from;
+    }
+
+    public EntityNode getTo() {
+        return to;
+    }
+
+    public void setTo(EntityNode to) {
+        this.to = to;
+    }
+
+    public int getMaxHops() {
+        return maxHops;
+    }
+
+    public void setMaxHops(int maxHops) {
+        this.maxHops = maxHops;
+    }
+
+    public List<ConnectionPath> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<ConnectionPath> paths) {
+        this.paths = paths;
+    }
+
+    public int getPrunedHubs() {
+        return prunedHubs;
+    }
+
+    public void setPrunedHubs(int prunedHubs) {
+        this.prunedHubs = prunedHubs;
+    }
+
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    public void setIncomplete(boolean incomplete) {
+        this.incomplete = incomplete;
+    }
+}
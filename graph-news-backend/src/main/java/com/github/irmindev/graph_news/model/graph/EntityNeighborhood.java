@@ -0,0 +1,82 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities within {@code depth} hops of a start entity. The relationships
+ * are the ones the traversal followed, so the result is a tree around the
+ * start entity rather than every edge among the returned entities.
+ */
+public class EntityNeighborhood {
+    private EntityNode root;
+    private int depth;
+    private List<EntityNode> entities = new ArrayList<>();
+    private List<EntityRelationship> relationships = new ArrayList<>();
+    private List<String> truncatedIds = new ArrayList<>();
+    // Whether the expansion stopped at the node cap before reaching the requested depth
+    private boolean limitReached;
+
+    public EntityNeighborhood() {
+    }
+
+    public EntityNeighborhood(EntityNode root, int depth) {
+        this.root = root;
+        this.depth = depth;
+    }
+
+    public void add(NeighborhoodHop hop) {
+        entities.addAll(hop.getEntities());
+        relationships.addAll(hop.getRelationships());
+        truncatedIds.addAll(hop.getTruncatedIds());
+        limitReached |= hop.isLimitReached();
+    }
+
+    public EntityNode getRoot() {
+        return root;
+    }
+
+    public void setRoot(EntityNode root) {
+        this.root = root;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public List<EntityNode> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<EntityNode> entities) {
+        this.entities = entities;
+    }
+
+    public List<EntityRelationship> getRelationships() {
+        return relationships;
+    }
+
+    public void setRelationships(List<EntityRelationship> relationships) {
+        this.relationships = relationships;
+    }
+
+    public List<String> getTruncatedIds() {
+        return truncatedIds;
+    }
+
+    public void setTruncatedIds(List<String> truncatedIds) {
+        this.truncatedIds = truncatedIds;
+    }
+
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+
+    public void setLimitReached(boolean limitReached) {
+        this.limitReached = limitReached;
+    }
+}
@@ -1,11 +1,16 @@
 package com.github.irmindev.graph_news.model.graph;
 
+import java.util.List;
+
 public class EntityRelationship {
     private String sourceId;
     private String targetId;
     private String type;
     private String originalType;
     private double confidence;
+    private double maxConfidence;
+    private int support;
+    private List<String> rawRelations;
 
     public EntityRelationship() {
     }
@@ -49,4 +54,28 @@ public class EntityRelationship {
     public void setConfidence(double confidence) {
         this.confidence = confidence;
     }
+
+    public double getMaxConfidence() {
+        return maxConfidence;
+    }
+
+    public void setMaxConfidence(double maxConfidence) {
+        this.maxConfidence = maxConfidence;
+    }
+
+    public int getSupport() {
+        return support;
+    }
+
+    public void setSupport(int support) {
+        this.support = support;
+    }
+
+    public List<String> getRawRelations() {
+        return rawRelations;
+    }
+
+    public void setRawRelations(List<String> rawRelations) {
+        this.rawRelations = rawRelations;
+    }
 }
@@ -0,0 +1,17 @@
+package com.github.irmindev.graph_news.model.graph;
+
+/**
+ * Nodes and edges removed from the graph by a news deletion or a garbage
+ * collection run
+ */
+public record GraphCleanupReport(long newsNodes, long entityNodes, long edges) {
+    public static final GraphCleanupReport EMPTY = new GraphCleanupReport(0, 0, 0);
+
+    public GraphCleanupReport plus(GraphCleanupReport other) {
+        return new GraphCleanupReport(newsNodes + other.newsNodes, entityNodes + other.entityNodes, edges + other.edges);
+    }
+
+    public boolean isEmpty() {
+        return newsNodes == 0 && entityNodes == 0 && edges == 0;
+    }
+}
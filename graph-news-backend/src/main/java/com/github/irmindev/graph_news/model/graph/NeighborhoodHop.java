@@ -0,0 +1,69 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.util.List;
+
+/**
+ * Entities reached at one hop of a neighborhood expansion and the
+ * relationships followed to reach them. Hop 0 holds only the start entity.
+ */
+public class NeighborhoodHop {
+    private int hop;
+    private List<EntityNode> entities;
+    private List<EntityRelationship> relationships;
+    // Entities with more neighbors than were followed: fan-out cap reached, or hubs left unexpanded
+    private List<String> truncatedIds;
+    // Whether the node cap dropped entities of this hop and ended the expansion
+    private boolean limitReached;
+
+    public NeighborhoodHop() {
+    }
+
+    public NeighborhoodHop(int hop, List<EntityNode> entities, List<EntityRelationship> relationships,
+                           List<String> truncatedIds, boolean limitReached) {
+        this.hop = hop;
+        this.entities = entities;
+        this.relationships = relationships;
+        this.truncatedIds = truncatedIds;
+        this.limitReached = limitReached;
+    }
+
+    public int getHop() {
+        return hop;
+    }
+
+    public void setHop(int hop) {
+        this.hop = hop;
+    }
+
+    public List<EntityNode> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<EntityNode> entities) {
+        this.entities = entities;
+    }
+
+    public List<EntityRelationship> getRelationships() {
+        return relationships;
+    }
+
+    public void setRelationships(List<EntityRelationship> relationships) {
+        this.relationships = relationships;
+    }
+
+    public List<String> getTruncatedIds() {
+        return truncatedIds;
+    }
+
+    public void setTruncatedIds(List<String> truncatedIds) {
+        this.truncatedIds = truncatedIds;
+    }
+
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+
+    public void setLimitReached(boolean limitReached) {
+        this.limitReached = limitReached;
+    }
+}
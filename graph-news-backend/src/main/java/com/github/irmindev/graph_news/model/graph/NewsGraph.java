@@ -7,6 +7,8 @@ public class NewsGraph {
     private NewsNode news;
     private List<EntityNode> entities;
     private List<EntityRelationship> relationships;
+    // Entities the article mentions, including the ones cut by maxEntities
+    private int totalEntities;
 
     public NewsGraph() {
     }
@@ -40,4 +42,12 @@ public class NewsGraph {
     public void setRelationships(List<EntityRelationship> relationships) {
         this.relationships = relationships;
     }
+
+    public int getTotalEntities() {
+        return totalEntities;
+    }
+
+    public void setTotalEntities(int totalEntities) {
+        this.totalEntities = totalEntities;
+    }
 }
\ No newline at end of file
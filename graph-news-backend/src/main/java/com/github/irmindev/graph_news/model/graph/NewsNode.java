@@ -1,8 +1,12 @@
 package com.github.irmindev.graph_news.model.graph;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class NewsNode {
     private String id;
     private String title;
+    // Only set when the text is requested; it lives in Postgres, not in the graph
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String text;
     private Long sourceId;
     private String createdAt;
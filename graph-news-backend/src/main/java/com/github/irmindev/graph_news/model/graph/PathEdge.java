@@ -0,0 +1,82 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Edge of a connection path, in its stored direction. A relationship between
+ * entities lists the latest articles that assert it; a MENTIONED_IN edge is
+ * justified by the article it points to.
+ */
+public class PathEdge {
+    private String sourceId;
+    private String targetId;
+    private String type;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String originalType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double confidence;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer support;
+    private List<NewsNode> articles;
+
+    public PathEdge() {
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getOriginalType() {
+        return originalType;
+    }
+
+    public void setOriginalType(String originalType) {
+        this.originalType = originalType;
+    }
+
+    public Double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(Double confidence) {
+        this.confidence = confidence;
+    }
+
+    public Integer getSupport() {
+        return support;
+    }
+
+    public void setSupport(Integer support) {
+        this.support = support;
+    }
+
+    public List<NewsNode> getArticles() {
+        return articles;
+    }
+
+    public void setArticles(List<NewsNode> articles) {
+        this.articles = articles;
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Entity or article on a connection path. For articles, {@code name} holds
+ * the title and {@code sourceId} the news id.
+ */
+public class PathNode {
+    public static final String ENTITY = "Entity";
+    public static final String NEWS = "News";
+
+    private String id;
+    private String label;
+    private String name;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String type;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sourceId;
+
+    public PathNode() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(Long sourceId) {
+        this.sourceId = sourceId;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.irmindev.graph_news.model.graph;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entities mentioned in the news published inside {@code [from, to)}, and
+ * the relationships among them asserted by those news. When the window holds
+ * too many news only the newest are read and {@code truncated} is set.
+ */
+public class TimeWindowGraph {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int newsCount;
+    private boolean truncated;
+    private List<EntityNode> entities;
+    private List<EntityRelationship> relationships;
+
+    public TimeWindowGraph() {
+    }
+
+    public TimeWindowGraph(LocalDateTime from, LocalDateTime to, int newsCount,
+                           List<EntityNode> entities, List<EntityRelationship> relationships) {
+        this.from = from;
+        this.to = to;
+        this.newsCount = newsCount;
+        this.entities = entities;
+        this.relationships = relationships;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public int getNewsCount() {
+        return newsCount;
+    }
+
+    public void setNewsCount(int newsCount) {
+        this.newsCount = newsCount;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<EntityNode> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<EntityNode> entities) {
+        this.entities = entities;
+    }
+
+    public List<EntityRelationship> getRelationships() {
+        return relationships;
+    }
+
+    public void setRelationships(List<EntityRelationship> relationships) {
+        this.relationships = relationships;
+    }
+}
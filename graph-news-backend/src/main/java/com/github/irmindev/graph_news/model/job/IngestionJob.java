@@ -0,0 +1,97 @@
+package com.github.irmindev.graph_news.model.job;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.irmindev.graph_news.model.enums.IngestionJobState;
+
+/**
+ * Tracks the NLP/graph work of one uploaded article. Every state change records
+ * how long the job spent in the previous state, so the job resource can report
+ * per-stage timings.
+ */
+public class IngestionJob {
+    private final String id;
+    private final Instant submittedAt;
+    private final Map<String, Long> stageTimings = new LinkedHashMap<>();
+
+    private Long newsId;
+    private IngestionJobState state;
+    private Instant finishedAt;
+    private String error;
+    private long stateEnteredNanos;
+
+    public IngestionJob(Long newsId) {
+        this.id = UUID.randomUUID().toString();
+        this.newsId = newsId;
+        this.submittedAt = Instant.now();
+        this.state = IngestionJobState.QUEUED;
+        this.stateEnteredNanos = System.nanoTime();
+    }
+
+    public synchronized void transitionTo(IngestionJobState next) {
+        if (state.isFinished()) {
+            return;
+        }
+        long now = System.nanoTime();
+        stageTimings.merge(state.getLabel(), (now - stateEnteredNanos) / 1_000_000, Long::sum);
+        state = next;
+        stateEnteredNanos = now;
+        if (next.isFinished()) {
+            finishedAt = Instant.now();
+        }
+    }
+
+    public synchronized void fail(String error) {
+        this.error = error;
+        transitionTo(IngestionJobState.FAILED);
+    }
+
+    /**
+     * Sets the article of a job that saves it itself, once it is saved
+     */
+    public synchronized void attachNews(Long newsId) {
+        this.newsId = newsId;
+    }
+
+    /**
+     * Finishes the job without the graph, which the outbox relay writes later
+     */
+    public synchronized void leaveGraphToRelay(String reason) {
+        this.error = reason;
+        transitionTo(IngestionJobState.GRAPH_PENDING);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized Long getNewsId() {
+        return newsId;
+    }
+
+    public synchronized IngestionJobState getState() {
+        return state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public synchronized Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    /**
+     * Milliseconds spent in each stage, keyed by state label
+     */
+    public synchronized Map<String, Long> getStageTimings() {
+        return new LinkedHashMap<>(stageTimings);
+    }
+}
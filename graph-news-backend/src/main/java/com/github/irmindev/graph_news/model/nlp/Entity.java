@@ -1,6 +1,7 @@
 package com.github.irmindev.graph_news.model.nlp;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 
@@ -9,6 +10,8 @@ public class Entity {
     private String type;
     private int mentionCount;
     private List<Integer> positions = new ArrayList<>();
+    // Mirrors positions for constant-time duplicate checks
+    private BitSet positionSet = new BitSet();
 
     public String getName() {
         return name;
@@ -40,10 +43,19 @@ public class Entity {
 
     public void setPositions(List<Integer> positions) {
         this.positions = positions;
+        this.positionSet = new BitSet();
+        for (int position : positions) {
+            if (position >= 0) positionSet.set(position);
+        }
     }
     
     public void addPosition(int position) {
-        if (!positions.contains(position)) {
+        if (position < 0) {
+            if (!positions.contains(position)) positions.add(position);
+            return;
+        }
+        if (!positionSet.get(position)) {
+            positionSet.set(position);
             positions.add(position);
         }
     }
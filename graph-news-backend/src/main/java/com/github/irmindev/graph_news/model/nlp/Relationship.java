@@ -4,6 +4,7 @@ public class Relationship {
     private String sourceEntity;
     private String targetEntity;
     private String type;
+    private String rawRelation;
     private double confidence;
     private int sentenceIndex;
 
@@ -31,6 +32,14 @@ public class Relationship {
         this.type = type;
     }
 
+    public String getRawRelation() {
+        return rawRelation;
+    }
+
+    public void setRawRelation(String rawRelation) {
+        this.rawRelation = rawRelation;
+    }
+
     public double getConfidence() {
         return confidence;
     }
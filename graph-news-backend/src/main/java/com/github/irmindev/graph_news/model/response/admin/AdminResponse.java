@@ -0,0 +1,51 @@
+package com.github.irmindev.graph_news.model.response.admin;
+
+public abstract sealed class AdminResponse permits
+    AdminResponse.Success,
+    AdminResponse.Failure
+{
+    private String message;
+
+    public AdminResponse() {
+    }
+
+    public AdminResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static final class Success extends AdminResponse {
+        private Object data;
+
+        public Success(Object data) {
+            super("Operation completed successfully");
+            this.data = data;
+        }
+
+        public Success(String message, Object data) {
+            super(message);
+            this.data = data;
+        }
+
+        public Object getData() {
+            return data;
+        }
+    }
+
+    public static final class Failure extends AdminResponse {
+        public Failure() {
+            super("Operation failed");
+        }
+
+        public Failure(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.irmindev.graph_news.model.response.news;
+
+import com.github.irmindev.graph_news.model.graph.EntityConnection;
+
+public abstract sealed class EntityConnectionResponse permits 
+    EntityConnectionResponse.Success,
+    EntityConnectionResponse.Failure
+{
+    private String message;
+
+    public EntityConnectionResponse() {
+    }
+
+    public EntityConnectionResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static final class Success extends EntityConnectionResponse {
+        private EntityConnection connection;
+
+        public Success(EntityConnection connection) {
+            super("Connection retrieved successfully");
+            this.connection = connection;
+        }
+
+        public EntityConnection getConnection() {
+            return connection;
+        }
+    }
+
+    public static final class Failure extends EntityConnectionResponse {
+        public Failure() {
+            super("Failed to retrieve connection");
+        }
+
+        public Failure(String message) {
+            super(message);
+        }
+    }
+}
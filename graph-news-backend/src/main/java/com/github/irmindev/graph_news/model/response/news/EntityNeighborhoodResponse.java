@@ -0,0 +1,48 @@
+package com.github.irmindev.graph_news.model.response.news;
+
+import com.github.irmindev.graph_news.model.graph.EntityNeighborhood;
+
+public abstract sealed class EntityNeighborhoodResponse permits 
+    EntityNeighborhoodResponse.Success,
+    EntityNeighborhoodResponse.Failure
+{
+    private String message;
+
+    public EntityNeighborhoodResponse() {
+    }
+
+    public EntityNeighborhoodResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static final class Success extends EntityNeighborhoodResponse {
+        private EntityNeighborhood neighborhood;
+
+        public Success(EntityNeighborhood neighborhood) {
+            super("Neighborhood retrieved successfully");
+            this.neighborhood = neighborhood;
+        }
+
+        public EntityNeighborhood getNeighborhood() {
+            return neighborhood;
+        }
+    }
+
+    public static final class Failure extends EntityNeighborhoodResponse {
+        public Failure() {
+            super("Failed to retrieve neighborhood");
+        }
+
+        public Failure(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.irmindev.graph_news.model.response.news;
+
+import com.github.irmindev.graph_news.model.graph.TimeWindowGraph;
+
+public abstract sealed class GraphWindowResponse permits 
+    GraphWindowResponse.Success,
+    GraphWindowResponse.Failure
+{
+    private String message;
+
+    public GraphWindowResponse() {
+    }
+
+    public GraphWindowResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static final class Success extends GraphWindowResponse {
+        private TimeWindowGraph graph;
+
+        public Success(TimeWindowGraph graph) {
+            super("Graph retrieved successfully");
+            this.graph = graph;
+        }
+
+        public TimeWindowGraph getGraph() {
+            return graph;
+        }
+    }
+
+    public static final class Failure extends GraphWindowResponse {
+        public Failure() {
+            super("Failed to retrieve graph");
+        }
+
+        public Failure(String message) {
+            super(message);
+        }
+    }
+}
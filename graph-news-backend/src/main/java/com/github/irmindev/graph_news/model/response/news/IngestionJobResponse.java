@@ -0,0 +1,48 @@
+package com.github.irmindev.graph_news.model.response.news;
+
+import com.github.irmindev.graph_news.model.job.IngestionJob;
+
+public abstract sealed class IngestionJobResponse permits
+    IngestionJobResponse.Success,
+    IngestionJobResponse.Failure
+{
+    private String message;
+
+    public IngestionJobResponse() {
+    }
+
+    public IngestionJobResponse(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static final class Success extends IngestionJobResponse {
+        private IngestionJob job;
+
+        public Success(IngestionJob job) {
+            super("Job retrieved successfully");
+            this.job = job;
+        }
+
+        public IngestionJob getJob() {
+            return job;
+        }
+    }
+
+    public static final class Failure extends IngestionJobResponse {
+        public Failure() {
+            super("Job not found");
+        }
+
+        public Failure(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.github.irmindev.graph_news.model.response.news;
 
 import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.job.IngestionJob;
 import com.github.irmindev.graph_news.model.response.news.NewsUpload.InvalidHTML;
 
 public abstract sealed class NewsUpload permits
     NewsUpload.Success,
+    NewsUpload.Accepted,
     NewsUpload.Failure,
     NewsUpload.InvalidFile, InvalidHTML
 {
@@ -38,6 +40,19 @@ public abstract sealed class NewsUpload permits
         }
     }
 
+    public static final class Accepted extends NewsUpload {
+        private IngestionJob job;
+
+        public Accepted(IngestionJob job) {
+            super("News accepted for processing");
+            this.job = job;
+        }
+
+        public IngestionJob getJob() {
+            return job;
+        }
+    }
+
     public static final class InvalidFile extends NewsUpload {
         public InvalidFile() {
             super("Invalid file");
@@ -0,0 +1,71 @@
+package com.github.irmindev.graph_news.model.trace;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Bounded record of the triples, matches and decisions made while ingesting
+ * one article. {@link #NOOP} is shared by untraced ingestions: it reports
+ * itself as disabled and ignores every event, so callers should check
+ * {@link #isEnabled()} before building expensive arguments.
+ */
+public class ExtractionTrace {
+    public static final ExtractionTrace NOOP = new ExtractionTrace(null, 0);
+
+    public record Event(long atMillis, String stage, String message) {}
+
+    private final Long newsId;
+    private final int maxEvents;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Event> events = new ArrayList<>();
+    private int droppedEvents;
+
+    public ExtractionTrace(Long newsId, int maxEvents) {
+        this.newsId = newsId;
+        this.maxEvents = maxEvents;
+    }
+
+    public boolean isEnabled() {
+        return this != NOOP;
+    }
+
+    /**
+     * Records an event; {@code format} uses SLF4J-style {@code {}} placeholders
+     */
+    public void record(String stage, String format, Object... args) {
+        if (this == NOOP) return;
+
+        synchronized (events) {
+            if (events.size() >= maxEvents) {
+                droppedEvents++;
+                return;
+            }
+            String message = MessageFormatter.arrayFormat(format, args).getMessage();
+            events.add(new Event((System.nanoTime() - startNanos) / 1_000_000, stage, message));
+        }
+    }
+
+    public Long getNewsId() {
+        return newsId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public List<Event> getEvents() {
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+
+    public int getDroppedEvents() {
+        synchronized (events) {
+            return droppedEvents;
+        }
+    }
+}
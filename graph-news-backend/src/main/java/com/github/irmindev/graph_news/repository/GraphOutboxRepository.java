@@ -0,0 +1,55 @@
+package com.github.irmindev.graph_news.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.github.irmindev.graph_news.model.entity.GraphOutboxEvent;
+import com.github.irmindev.graph_news.model.enums.GraphOutboxStatus;
+
+@Repository
+public interface GraphOutboxRepository extends JpaRepository<GraphOutboxEvent, Long> {
+    Optional<GraphOutboxEvent> findByNewsId(Long newsId);
+
+    // Pendientes cuyo reintento ya venció, y reclamados cuyo dueño dejó expirar el lease
+    @Query("SELECT e FROM GraphOutboxEvent e WHERE " +
+           "(e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.PENDING AND e.nextAttemptAt <= :now) OR " +
+           "(e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.IN_PROGRESS AND e.claimedAt < :leaseExpiry) " +
+           "ORDER BY e.nextAttemptAt")
+    List<GraphOutboxEvent> findDue(@Param("now") Instant now, @Param("leaseExpiry") Instant leaseExpiry, Pageable pageable);
+
+    // Solo un escritor gana el reclamo: la fila cambia de estado en un único UPDATE condicional
+    @Modifying
+    @Query("UPDATE GraphOutboxEvent e SET " +
+           "e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.IN_PROGRESS, e.claimedAt = :now " +
+           "WHERE e.newsId = :newsId AND (" +
+           "e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.PENDING OR " +
+           "(e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.IN_PROGRESS AND e.claimedAt < :leaseExpiry))")
+    int claim(@Param("newsId") Long newsId, @Param("now") Instant now, @Param("leaseExpiry") Instant leaseExpiry);
+
+    long countByStatus(GraphOutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM GraphOutboxEvent e WHERE " +
+           "e.status IN (com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.PENDING, " +
+           "com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.IN_PROGRESS)")
+    Optional<Instant> findOldestUnprocessedCreatedAt();
+
+    // Últimos fallos, incluidos los que aún se reintentan
+    List<GraphOutboxEvent> findByLastErrorIsNotNullAndStatusNotOrderByNextAttemptAtDesc(GraphOutboxStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM GraphOutboxEvent e WHERE " +
+           "e.status = com.github.irmindev.graph_news.model.enums.GraphOutboxStatus.DONE AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") Instant before);
+
+    @Modifying
+    @Query("DELETE FROM GraphOutboxEvent e WHERE e.newsId = :newsId")
+    int deleteByNewsId(@Param("newsId") Long newsId);
+}
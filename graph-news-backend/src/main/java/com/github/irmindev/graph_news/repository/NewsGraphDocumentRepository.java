@@ -0,0 +1,36 @@
+package com.github.irmindev.graph_news.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.github.irmindev.graph_news.model.entity.NewsGraphDocument;
+
+@Repository
+public interface NewsGraphDocumentRepository extends JpaRepository<NewsGraphDocument, Long> {
+    Optional<NewsGraphDocument> findByNewsIdAndFormatVersion(Long newsId, int formatVersion);
+
+    // Noticias sin documento de la versión actual, en orden de id para paginar por llave
+    @Query("SELECT n.id FROM News n WHERE n.id > :after AND NOT EXISTS (" +
+           "SELECT d.newsId FROM NewsGraphDocument d WHERE d.newsId = n.id AND d.formatVersion = :formatVersion) " +
+           "ORDER BY n.id")
+    List<Long> findNewsIdsWithoutDocument(@Param("after") Long after, @Param("formatVersion") int formatVersion,
+                                          Pageable pageable);
+
+    long countByFormatVersion(int formatVersion);
+
+    @Modifying
+    @Query("DELETE FROM NewsGraphDocument d WHERE d.newsId = :newsId")
+    int deleteByNewsId(@Param("newsId") Long newsId);
+
+    // Documentos cuya noticia ya no existe
+    @Modifying
+    @Query("DELETE FROM NewsGraphDocument d WHERE NOT EXISTS (SELECT n.id FROM News n WHERE n.id = d.newsId)")
+    int deleteOrphans();
+}
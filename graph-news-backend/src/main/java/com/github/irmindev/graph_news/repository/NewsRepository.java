@@ -1,7 +1,9 @@
 package com.github.irmindev.graph_news.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +27,14 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     List<News> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     Page<News> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     
+    // Solo el contenido, para respuestas del grafo que lo piden
+    @Query("SELECT n.content FROM News n WHERE n.id = :id")
+    Optional<String> findContentById(@Param("id") Long id);
+
+    // Los ids de la lista que siguen existiendo
+    @Query("SELECT n.id FROM News n WHERE n.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     // Obtener las noticias más recientes
     List<News> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
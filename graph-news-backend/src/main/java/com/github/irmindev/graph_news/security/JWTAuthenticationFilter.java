@@ -53,9 +53,6 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Log the authorities for debugging
-        System.out.println("User authorities: " + userDetails.getAuthorities());
-
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         authentication.setDetails(
             new WebAuthenticationDetailsSource().buildDetails(request)
@@ -63,8 +60,9 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Log the authentication object
-        System.out.println("Authentication object: " + SecurityContextHolder.getContext().getAuthentication());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Authenticated " + email + " with authorities " + userDetails.getAuthorities());
+        }
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,94 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.utils.LruCache;
+
+/**
+ * In-process map from normalized entity key (lowercased name + type) to the
+ * {@code id} of its Entity node, so hot entities skip the graph lookup.
+ *
+ * Entries are only added after the transaction that created or matched the
+ * node has committed. Code that merges or deletes Entity nodes must invalidate
+ * them; a stale id is also detected and dropped by the writer when it no
+ * longer matches a node.
+ */
+@Component
+public class EntityIdCache {
+    private final LruCache<String, String> ids;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public EntityIdCache(
+        @Value("${graph.entity-cache.max-entries:50000}") int maxEntries,
+        IngestionMetrics ingestionMetrics
+    ) {
+        this.ids = new LruCache<>(maxEntries);
+        ingestionMetrics.registerCache("graph-entity-id", ids, LruCache::getHits, LruCache::getMisses);
+    }
+
+    /**
+     * Normalized key of an entity; the uniqueness constraint is on this value
+     */
+    public static String key(String name, String type) {
+        return name.strip().toLowerCase(Locale.ROOT) + "|" + type;
+    }
+
+    public String get(String key) {
+        return ids.get(key);
+    }
+
+    public void putAll(Map<String, String> idsByKey) {
+        idsByKey.forEach(ids::put);
+    }
+
+    public void invalidate(String key) {
+        if (ids.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public void invalidate(String name, String type) {
+        invalidate(key(name, type));
+    }
+
+    /**
+     * Drops the entries pointing at any of the given node ids (merged or deleted entities)
+     */
+    public void invalidateIds(Collection<String> entityIds) {
+        if (entityIds.isEmpty()) return;
+        Set<String> removed = new HashSet<>(entityIds);
+        invalidations.addAndGet(ids.removeIf((key, id) -> removed.contains(id)));
+    }
+
+    public void invalidateAll() {
+        invalidations.addAndGet(ids.size());
+        ids.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = ids.getHits();
+        long total = hits + ids.getMisses();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", ids.size());
+        stats.put("maxEntries", ids.getMaxEntries());
+        stats.put("hits", hits);
+        stats.put("misses", ids.getMisses());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hits / total);
+        stats.put("evictions", ids.getEvictions());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.irmindev.graph_news.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
+import com.github.irmindev.graph_news.model.graph.EntityNeighborhood;
+import com.github.irmindev.graph_news.model.graph.EntityNode;
+import com.github.irmindev.graph_news.model.graph.EntityRelationship;
+import com.github.irmindev.graph_news.model.graph.NeighborhoodHop;
+
+/**
+ * Breadth-first expansion around an entity, one bounded query per hop.
+ * Each entity contributes at most the hop's fan-out of neighbors, its
+ * strongest relationships first. Hubs (more than {@code supernode-degree}
+ * relationships) are never ranked: the start entity takes the first
+ * relationships found, and hubs reached later are returned but not expanded.
+ */
+@Service
+public class EntityNeighborhoodService {
+    public static final int MAX_DEPTH = 3;
+
+    private static final Pattern RELATIONSHIP_TYPE = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    // %1$s is the relationship type expression; the LIMIT of the hub branch stops the expansion early
+    private static final String EXPAND_HOP =
+        "UNWIND $frontier AS entityId " +
+        "MATCH (e:Entity {id: entityId}) " +
+        "WITH e, COUNT { (e)-[%1$s]-() } AS degree " +
+        "CALL { " +
+        "  WITH e, degree " +
+        "  WITH e WHERE degree <= $supernodeDegree " +
+        "  MATCH (e)-[r%1$s]-(n:Entity) " +
+        "  WHERE r.confidence >= $minConfidence AND NOT n.id IN $visited " +
+        "  WITH r, n ORDER BY r.support DESC, r.confidence DESC LIMIT $fanOut " +
+        "  RETURN r, n " +
+        "  UNION " +
+        "  WITH e, degree " +
+        "  WITH e WHERE degree > $supernodeDegree " +
+        "  MATCH (e)-[r%1$s]-(n:Entity) " +
+        "  WHERE r.confidence >= $minConfidence AND NOT n.id IN $visited " +
+        "  WITH r, n LIMIT $fanOut " +
+        "  RETURN r, n " +
+        "} " +
+        "RETURN e.id AS fromId, n AS entity, COUNT { (n)-[:MENTIONED_IN]->() } AS mentionCount, " +
+        "COUNT { (n)-[%1$s]-() } AS entityDegree, " +
+        "startNode(r).id AS sourceId, endNode(r).id AS targetId, type(r) AS type, r.type AS originalType, " +
+        "r.confidence AS confidence, r.maxConfidence AS maxConfidence, r.support AS support, " +
+        "coalesce(r.rawRelations, []) AS rawRelations";
+
+    /**
+     * @param fanOut neighbors kept per entity at each hop; the last value applies to the remaining hops
+     * @param types relationship types to follow (all when empty)
+     * @throws IllegalArgumentException if the depth, a fan-out or a type is out of range
+     */
+    public record NeighborhoodQuery(String entityId, int depth, List<Integer> fanOut, List<String> types,
+                                    double minConfidence) {
+        public NeighborhoodQuery {
+            if (depth < 1 || depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("depth must be between 1 and " + MAX_DEPTH);
+            }
+            if (fanOut == null || fanOut.isEmpty() || fanOut.stream().anyMatch(limit -> limit == null || limit <= 0)) {
+                throw new IllegalArgumentException("fanOut must be a list of positive numbers");
+            }
+            types = types == null ? List.of() : List.copyOf(types);
+            for (String type : types) {
+                if (!RELATIONSHIP_TYPE.matcher(type).matches()) {
+                    throw new IllegalArgumentException("Invalid relationship type: " + type);
+                }
+            }
+        }
+
+        int fanOutAt(int hop) {
+            return fanOut.get(Math.min(hop, fanOut.size()) - 1);
+        }
+    }
+
+    private final Driver neo4jDriver;
+    private final int maxFanOut;
+    private final int maxNodes;
+    private final long supernodeDegree;
+    private final TransactionConfig hopConfig;
+
+    @Autowired
+    public EntityNeighborhoodService(
+        Driver neo4jDriver,
+        @Value("${graph.neighborhood.max-fan-out:100}") int maxFanOut,
+        @Value("${graph.neighborhood.max-nodes:500}") int maxNodes,
+        @Value("${graph.neighborhood.supernode-degree:1000}") long supernodeDegree,
+        @Value("${graph.neighborhood.hop-timeout-ms:2000}") long hopTimeoutMillis
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.maxFanOut = Math.max(1, maxFanOut);
+        this.maxNodes = Math.max(1, maxNodes);
+        this.supernodeDegree = supernodeDegree;
+        this.hopConfig = TransactionConfig.builder().withTimeout(Duration.ofMillis(hopTimeoutMillis)).build();
+    }
+
+    /**
+     * The entity with the number of articles that mention it
+     */
+    public EntityNode getEntity(String entityId) {
+        try (Session session = neo4jDriver.session()) {
+            List<Record> records = session.executeRead(tx -> tx.run(
+                "MATCH (e:Entity {id: $id}) RETURN e, COUNT { (e)-[:MENTIONED_IN]->() } AS mentionCount",
+                Map.of("id", entityId)).list(), hopConfig);
+            if (records.isEmpty()) {
+                throw new EntityNotFoundException();
+            }
+            Record record = records.get(0);
+            return GraphService.mapEntityNode(record.get("e").asNode(), record.get("mentionCount").asInt());
+        }
+    }
+
+    public EntityNeighborhood getNeighborhood(NeighborhoodQuery query) {
+        EntityNode root = getEntity(query.entityId());
+        EntityNeighborhood neighborhood = new EntityNeighborhood(root, query.depth());
+        expand(root, query, neighborhood::add);
+        return neighborhood;
+    }
+
+    /**
+     * Expands hop by hop, handing each hop to {@code consumer} as soon as it
+     * is read, starting with hop 0 (the start entity alone)
+     */
+    public void expand(EntityNode root, NeighborhoodQuery query, Consumer<NeighborhoodHop> consumer) {
+        String statement = String.format(EXPAND_HOP, typeExpression(query.types()));
+        Set<String> visited = new LinkedHashSet<>(List.of(root.getId()));
+        List<String> frontier = List.of(root.getId());
+        consumer.accept(new NeighborhoodHop(0, List.of(root), List.of(), List.of(), false));
+
+        try (Session session = neo4jDriver.session()) {
+            for (int hop = 1; hop <= query.depth() && !frontier.isEmpty(); hop++) {
+                int fanOut = Math.min(query.fanOutAt(hop), maxFanOut);
+                Map<String, Object> parameters = new HashMap<>();
+                parameters.put("frontier", frontier);
+                parameters.put("visited", List.copyOf(visited));
+                parameters.put("fanOut", fanOut);
+                parameters.put("minConfidence", query.minConfidence());
+                parameters.put("supernodeDegree", supernodeDegree);
+
+                List<Record> records = session.executeRead(tx -> tx.run(statement, parameters).list(), hopConfig);
+
+                List<EntityNode> entities = new ArrayList<>();
+                List<EntityRelationship> relationships = new ArrayList<>();
+                Set<String> truncated = new LinkedHashSet<>();
+                Set<String> reached = new LinkedHashSet<>();
+                List<String> next = new ArrayList<>();
+                Map<String, Integer> followed = new HashMap<>();
+                boolean limitReached = false;
+
+                for (Record record : records) {
+                    String fromId = record.get("fromId").asString();
+                    if (followed.merge(fromId, 1, Integer::sum) >= fanOut) {
+                        truncated.add(fromId);
+                    }
+
+                    String entityId = record.get("entity").get("id").asString();
+                    // Reached from two entities of the frontier: one node, both relationships
+                    if (!reached.contains(entityId)) {
+                        if (visited.size() >= maxNodes) {
+                            limitReached = true;
+                            continue;
+                        }
+                        visited.add(entityId);
+                        reached.add(entityId);
+                        entities.add(GraphService.mapEntityNode(record.get("entity").asNode(),
+                            record.get("mentionCount").asInt()));
+
+                        if (record.get("entityDegree").asLong() > supernodeDegree && hop < query.depth()) {
+                            truncated.add(entityId);
+                        } else {
+                            next.add(entityId);
+                        }
+                    }
+                    relationships.add(GraphService.mapRelationship(record));
+                }
+
+                consumer.accept(new NeighborhoodHop(hop, entities, relationships, List.copyOf(truncated), limitReached));
+                if (limitReached) break;
+                frontier = next;
+            }
+        }
+    }
+
+    // Only the requested types (validated by NeighborhoodQuery), or every relationship between entities
+    private static String typeExpression(List<String> types) {
+        if (types.isEmpty()) {
+            return ":!MENTIONED_IN";
+        }
+        return types.stream().map(type -> "`" + type + "`").collect(Collectors.joining("|", ":", ""));
+    }
+}
@@ -0,0 +1,414 @@
+package com.github.irmindev.graph_news.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.TransactionContext;
+import org.neo4j.driver.types.Node;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
+import com.github.irmindev.graph_news.model.graph.ConnectionPath;
+import com.github.irmindev.graph_news.model.graph.EntityConnection;
+import com.github.irmindev.graph_news.model.graph.EntityNode;
+import com.github.irmindev.graph_news.model.graph.NewsNode;
+import com.github.irmindev.graph_news.model.graph.PathEdge;
+import com.github.irmindev.graph_news.model.graph.PathNode;
+import com.github.irmindev.graph_news.utils.LruCache;
+
+/**
+ * Finds how two entities are connected with a breadth-first search run from
+ * both ends, always expanding the smaller frontier, one query per level.
+ * Paths cross relationships between entities and articles that mention both
+ * sides. Entities and articles with more than {@code hub-degree} edges are
+ * never crossed, only the two endpoints may be hubs.
+ *
+ * Every shortest path is found (up to k); longer paths only through nodes
+ * first reached at their level, so past the shortest length the result is a
+ * subset of the k shortest paths. Results are cached per entity pair.
+ */
+@Service
+public class EntityPathService {
+    // Hubs are returned (and counted) so the far endpoint can be reached; LIMIT keeps a hub endpoint from being read whole
+    private static final String EXPAND_LEVEL =
+        "UNWIND $frontier AS nodeId " +
+        "MATCH (x) WHERE elementId(x) = nodeId " +
+        "CALL { " +
+        "  WITH x " +
+        "  MATCH (x)-[r]-(y) " +
+        "  WHERE (y:Entity OR y:News) AND NOT elementId(y) IN $visited " +
+        "  RETURN r, y LIMIT $hubDegree " +
+        "} " +
+        "RETURN nodeId AS fromId, elementId(y) AS toId, y AS node, COUNT { (y)--() } AS degree, " +
+        "elementId(startNode(r)) AS startId, elementId(endNode(r)) AS endId, type(r) AS type, " +
+        "r.type AS originalType, r.confidence AS confidence, r.support AS support, " +
+        "CASE WHEN type(r) = 'MENTIONED_IN' THEN [] ELSE coalesce(r.newsIds, [])[-$evidence..] END AS newsIds";
+
+    private record PairKey(String first, String second, int k, int maxHops) {
+    }
+
+    private record Cached(EntityConnection connection, long expiresAt) {
+    }
+
+    // An edge as stored, by element id
+    record Hop(String startId, String endId, String type, String originalType, Double confidence,
+                       Integer support, List<Long> newsIds) {
+    }
+
+    record Step(String previous, Hop hop) {
+    }
+
+    // nodes.get(i) and nodes.get(i + 1) are joined by hops.get(i)
+    record Chain(List<String> nodes, List<Hop> hops) {
+        Chain append(String node, Hop hop) {
+            List<String> appendedNodes = new ArrayList<>(nodes);
+            List<Hop> appendedHops = new ArrayList<>(hops);
+            appendedNodes.add(node);
+            appendedHops.add(hop);
+            return new Chain(appendedNodes, appendedHops);
+        }
+
+        // This chain ends where the tail (walked from the other endpoint) ends; null if they cross elsewhere
+        Chain join(Chain tail) {
+            List<String> joinedNodes = new ArrayList<>(nodes);
+            List<Hop> joinedHops = new ArrayList<>(hops);
+            for (int i = tail.nodes().size() - 2; i >= 0; i--) {
+                joinedNodes.add(tail.nodes().get(i));
+            }
+            for (int i = tail.hops().size() - 1; i >= 0; i--) {
+                joinedHops.add(tail.hops().get(i));
+            }
+            return new HashSet<>(joinedNodes).size() == joinedNodes.size() ? new Chain(joinedNodes, joinedHops) : null;
+        }
+    }
+
+    private final Driver neo4jDriver;
+    private final int maxHops;
+    private final int maxK;
+    private final long hubDegree;
+    private final int maxFrontier;
+    private final int evidencePerEdge;
+    private final Duration timeout;
+    private final TransactionConfig searchConfig;
+    private final Duration cacheTtl;
+    private final LruCache<PairKey, Cached> cache;
+
+    @Autowired
+    public EntityPathService(
+        Driver neo4jDriver,
+        IngestionMetrics ingestionMetrics,
+        @Value("${graph.paths.max-hops:6}") int maxHops,
+        @Value("${graph.paths.max-k:10}") int maxK,
+        @Value("${graph.paths.hub-degree:500}") long hubDegree,
+        @Value("${graph.paths.max-frontier:5000}") int maxFrontier,
+        @Value("${graph.paths.evidence-per-edge:5}") int evidencePerEdge,
+        @Value("${graph.paths.timeout-ms:3000}") long timeoutMillis,
+        @Value("${graph.paths.cache.max-entries:500}") int cacheEntries,
+        @Value("${graph.paths.cache.ttl-seconds:600}") long cacheTtlSeconds
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.maxHops = maxHops;
+        this.maxK = maxK;
+        this.hubDegree = hubDegree;
+        this.maxFrontier = Math.max(1, maxFrontier);
+        this.evidencePerEdge = Math.max(1, evidencePerEdge);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        // The search stops itself at the time limit; the transaction timeout only catches a runaway query
+        this.searchConfig = TransactionConfig.builder().withTimeout(timeout.multipliedBy(2)).build();
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.cache = new LruCache<>(cacheEntries);
+        ingestionMetrics.registerCache("entity-paths", cache, LruCache::getHits, LruCache::getMisses);
+    }
+
+    /**
+     * Up to {@code k} paths of at most {@code maxHops} edges from one entity
+     * to the other, shortest first
+     *
+     * @throws IllegalArgumentException if k or maxHops is out of range or both entities are the same
+     * @throws EntityNotFoundException if either entity doesn't exist
+     */
+    public EntityConnection findPaths(String fromId, String toId, int k, int maxHops) {
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("'from' and 'to' must be different entities");
+        }
+        if (k < 1 || k > maxK) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxK);
+        }
+        if (maxHops < 1 || maxHops > this.maxHops) {
+            throw new IllegalArgumentException("maxHops must be between 1 and " + this.maxHops);
+        }
+
+        // Paths are undirected, so A to B and B to A share an entry
+        boolean swapped = fromId.compareTo(toId) > 0;
+        PairKey key = swapped ? new PairKey(toId, fromId, k, maxHops) : new PairKey(fromId, toId, k, maxHops);
+
+        Cached cached = cache.get(key);
+        EntityConnection connection;
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            connection = cached.connection();
+        } else {
+            Search search;
+            try (Session session = neo4jDriver.session()) {
+                search = session.executeRead(tx -> {
+                    Search attempt = new Search(tx, k, maxHops);
+                    attempt.run(key.first(), key.second());
+                    return attempt;
+                }, searchConfig);
+            }
+            connection = search.result;
+            // A search cut by the time limit may find more next time
+            if (!search.timedOut) {
+                cache.put(key, new Cached(connection, System.nanoTime() + cacheTtl.toNanos()));
+            }
+        }
+        return swapped ? connection.reversed() : connection;
+    }
+
+    // Search state from one endpoint
+    static final class Side {
+        final String start;
+        final String target;
+        final Map<String, Integer> depth = new HashMap<>();
+        final Map<String, List<Step>> parents = new HashMap<>();
+        List<String> frontier;
+        int level;
+
+        Side(String start, String target) {
+            this.start = start;
+            this.target = target;
+            this.depth.put(start, 0);
+            this.frontier = List.of(start);
+        }
+
+        // false if the node was already reached
+        boolean visit(String node, int level) {
+            if (depth.containsKey(node)) return false;
+            depth.put(node, level);
+            parents.put(node, new ArrayList<>());
+            return true;
+        }
+
+        // Reached again at the same level from another node: one more shortest route to it, up to k
+        void addParent(String node, Step step, int k) {
+            List<Step> steps = parents.get(node);
+            if (steps.size() < k) {
+                steps.add(step);
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code paths} every path through {@code meeting} made of a chain
+     * of each side that doesn't cross the other; paths over the same nodes are kept once
+     */
+    static void join(Side forward, Side backward, String meeting, int k, Map<String, Chain> paths) {
+        for (Chain head : chains(forward, meeting, k)) {
+            for (Chain tail : chains(backward, meeting, k)) {
+                Chain path = head.join(tail);
+                if (path != null) {
+                    paths.putIfAbsent(String.join(",", path.nodes()), path);
+                }
+            }
+        }
+    }
+
+    // Up to k shortest chains from the side's endpoint to the node
+    static List<Chain> chains(Side side, String node, int k) {
+        if (node.equals(side.start)) {
+            return List.of(new Chain(List.of(node), List.of()));
+        }
+        List<Chain> chains = new ArrayList<>();
+        for (Step step : side.parents.get(node)) {
+            for (Chain prefix : chains(side, step.previous(), k)) {
+                chains.add(prefix.append(node, step.hop()));
+                if (chains.size() >= k) return chains;
+            }
+        }
+        return chains;
+    }
+
+    private final class Search {
+        final TransactionContext tx;
+        final int k;
+        final int maxHops;
+        final Map<String, PathNode> nodes = new HashMap<>();
+        final Map<String, Chain> paths = new LinkedHashMap<>();
+        final Set<String> prunedHubs = new HashSet<>();
+        boolean capped;
+        boolean timedOut;
+        EntityConnection result;
+
+        Search(TransactionContext tx, int k, int maxHops) {
+            this.tx = tx;
+            this.k = k;
+            this.maxHops = maxHops;
+        }
+
+        void run(String fromId, String toId) {
+            EntityNode from = null;
+            EntityNode to = null;
+            String fromElement = null;
+            String toElement = null;
+            for (Record record : tx.run(
+                    "MATCH (e:Entity) WHERE e.id IN $ids " +
+                    "RETURN e, elementId(e) AS elementId, COUNT { (e)-[:MENTIONED_IN]->() } AS mentionCount",
+                    Map.of("ids", List.of(fromId, toId))).list()) {
+                Node node = record.get("e").asNode();
+                String elementId = record.get("elementId").asString();
+                EntityNode entity = GraphService.mapEntityNode(node, record.get("mentionCount").asInt());
+                nodes.put(elementId, toPathNode(node));
+                if (entity.getId().equals(fromId)) {
+                    from = entity;
+                    fromElement = elementId;
+                } else {
+                    to = entity;
+                    toElement = elementId;
+                }
+            }
+            if (from == null || to == null) {
+                throw new EntityNotFoundException();
+            }
+
+            Side forward = new Side(fromElement, toElement);
+            Side backward = new Side(toElement, fromElement);
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (paths.size() < k && forward.level + backward.level < maxHops
+                    && !forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+                if (System.nanoTime() - deadline > 0) {
+                    timedOut = true;
+                    break;
+                }
+                Side side = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+                Side other = side == forward ? backward : forward;
+                for (String reached : expand(side)) {
+                    if (other.depth.containsKey(reached)) {
+                        join(forward, backward, reached, k, paths);
+                    }
+                }
+            }
+
+            List<Chain> shortest = paths.values().stream()
+                .sorted(Comparator.comparingInt(chain -> chain.hops().size()))
+                .limit(k)
+                .toList();
+            result = new EntityConnection(from, to, maxHops, toPaths(shortest), prunedHubs.size(), timedOut || capped);
+        }
+
+        // Reads the next level of one side and returns the nodes it reached for the first time
+        List<String> expand(Side side) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("frontier", side.frontier);
+            parameters.put("visited", List.copyOf(side.depth.keySet()));
+            parameters.put("hubDegree", hubDegree);
+            parameters.put("evidence", evidencePerEdge);
+
+            int level = side.level + 1;
+            Set<String> reached = new LinkedHashSet<>();
+            for (Record record : tx.run(EXPAND_LEVEL, parameters).list()) {
+                String nodeId = record.get("toId").asString();
+                if (record.get("degree").asLong() > hubDegree && !nodeId.equals(side.target)) {
+                    prunedHubs.add(nodeId);
+                    continue;
+                }
+                if (!side.depth.containsKey(nodeId)) {
+                    if (reached.size() >= maxFrontier) {
+                        capped = true;
+                        continue;
+                    }
+                    side.visit(nodeId, level);
+                    nodes.putIfAbsent(nodeId, toPathNode(record.get("node").asNode()));
+                    reached.add(nodeId);
+                }
+                side.addParent(nodeId, new Step(record.get("fromId").asString(), toHop(record)), k);
+            }
+
+            side.level = level;
+            // Nothing to find past the other endpoint
+            side.frontier = reached.stream().filter(nodeId -> !nodeId.equals(side.target)).toList();
+            return new ArrayList<>(reached);
+        }
+
+        List<ConnectionPath> toPaths(List<Chain> chains) {
+            Set<Long> newsIds = new HashSet<>();
+            for (Chain chain : chains) {
+                for (Hop hop : chain.hops()) {
+                    newsIds.addAll(hop.newsIds());
+                }
+            }
+            Map<Long, NewsNode> articles = new HashMap<>();
+            if (!newsIds.isEmpty()) {
+                for (Record record : tx.run("MATCH (n:News) WHERE n.sourceId IN $ids RETURN n",
+                        Map.of("ids", List.copyOf(newsIds))).list()) {
+                    NewsNode article = GraphService.mapNewsNode(record.get("n").asNode());
+                    articles.put(article.getSourceId(), article);
+                }
+            }
+
+            List<ConnectionPath> connectionPaths = new ArrayList<>();
+            for (Chain chain : chains) {
+                List<PathNode> pathNodes = chain.nodes().stream().map(nodes::get).toList();
+                List<PathEdge> pathEdges = new ArrayList<>();
+                for (Hop hop : chain.hops()) {
+                    PathEdge edge = new PathEdge();
+                    edge.setSourceId(nodes.get(hop.startId()).getId());
+                    edge.setTargetId(nodes.get(hop.endId()).getId());
+                    edge.setType(hop.type());
+                    edge.setOriginalType(hop.originalType());
+                    edge.setConfidence(hop.confidence());
+                    edge.setSupport(hop.support());
+                    // Latest supporting articles first; deleted ones are skipped
+                    List<NewsNode> evidence = new ArrayList<>();
+                    for (int i = hop.newsIds().size() - 1; i >= 0; i--) {
+                        NewsNode article = articles.get(hop.newsIds().get(i));
+                        if (article != null) evidence.add(article);
+                    }
+                    edge.setArticles(evidence);
+                    pathEdges.add(edge);
+                }
+                connectionPaths.add(new ConnectionPath(pathNodes, pathEdges));
+            }
+            return connectionPaths;
+        }
+    }
+
+    private static Hop toHop(Record record) {
+        return new Hop(
+            record.get("startId").asString(),
+            record.get("endId").asString(),
+            record.get("type").asString(),
+            record.get("originalType").isNull() ? null : record.get("originalType").asString(),
+            record.get("confidence").isNull() ? null : record.get("confidence").asDouble(),
+            record.get("support").isNull() ? null : record.get("support").asInt(),
+            record.get("newsIds").asList(value -> value.asLong()));
+    }
+
+    private static PathNode toPathNode(Node node) {
+        PathNode pathNode = new PathNode();
+        pathNode.setId(node.get("id").asString());
+        if (node.hasLabel(PathNode.NEWS)) {
+            pathNode.setLabel(PathNode.NEWS);
+            pathNode.setName(node.get("title").asString());
+            pathNode.setSourceId(node.get("sourceId").asLong());
+        } else {
+            pathNode.setLabel(PathNode.ENTITY);
+            pathNode.setName(node.get("name").asString());
+            pathNode.setType(node.get("type").asString());
+        }
+        return pathNode;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.utils.LruCache;
+
+/**
+ * Keeps the traces of the most recent traced ingestions, by news id
+ */
+@Service
+public class ExtractionTraceService {
+    private final LruCache<Long, ExtractionTrace> traces;
+    private final int maxEventsPerTrace;
+
+    @Autowired
+    public ExtractionTraceService(
+        @Value("${nlp.trace.max-retained:50}") int maxRetained,
+        @Value("${nlp.trace.max-events:2000}") int maxEventsPerTrace
+    ) {
+        this.traces = new LruCache<>(maxRetained);
+        this.maxEventsPerTrace = maxEventsPerTrace;
+    }
+
+    /**
+     * A new trace registered for the article, or {@link ExtractionTrace#NOOP} when not requested
+     */
+    public ExtractionTrace start(Long newsId, boolean enabled) {
+        if (!enabled) {
+            return ExtractionTrace.NOOP;
+        }
+        ExtractionTrace trace = new ExtractionTrace(newsId, maxEventsPerTrace);
+        traces.put(newsId, trace);
+        return trace;
+    }
+
+    public Optional<ExtractionTrace> getTrace(Long newsId) {
+        return Optional.ofNullable(traces.get(newsId));
+    }
+}
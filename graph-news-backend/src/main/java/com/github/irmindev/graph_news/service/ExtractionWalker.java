@@ -0,0 +1,619 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.github.irmindev.graph_news.model.nlp.Entity;
+import com.github.irmindev.graph_news.model.nlp.Relationship;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.utils.EntityIndex;
+import com.github.irmindev.graph_news.utils.RelationVocabulary;
+
+import edu.stanford.nlp.coref.CorefCoreAnnotations;
+import edu.stanford.nlp.coref.data.CorefChain;
+import edu.stanford.nlp.ie.util.RelationTriple;
+import edu.stanford.nlp.ling.CoreAnnotations.NamedEntityTagAnnotation;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.ling.IndexedWord;
+import edu.stanford.nlp.naturalli.NaturalLogicAnnotations;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.pipeline.CoreSentence;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.semgraph.SemanticGraphEdge;
+import edu.stanford.nlp.trees.GrammaticalRelation;
+import edu.stanford.nlp.trees.Tree;
+
+/**
+ * Turns an annotated document into entities, relationships and key phrases.
+ *
+ * Sentences are visited once, in order, collecting NER entities, OpenIE
+ * triples, classified dependency edges and noun phrases together. Relations
+ * are then resolved from those per-sentence lists, since matching needs every
+ * entity of the document first. Dependency labels are classified once per
+ * edge instead of comparing {@code toString()} against literals.
+ */
+public final class ExtractionWalker {
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Set<String> PRONOUNS = Set.of(
+        "he", "she", "it", "they", "him", "her", "them", "his", "hers", "its", "their", "theirs");
+
+    private static final Set<String> COMMON_PRONOUNS = Set.of(
+        "i", "you", "he", "she", "it", "we", "they", "this", "that", "these", "those");
+
+    // English stopwords list
+    private static final Set<String> STOPWORDS = Set.of(
+        "the", "a", "an", "and", "or", "but", "is", "are", "was", "were",
+        "be", "been", "being", "have", "has", "had", "do", "does", "did",
+        "to", "at", "in", "on", "by", "for", "with", "about", "against",
+        "between", "into", "through", "during", "before", "after", "above",
+        "below", "from", "up", "down", "of", "off", "over", "under", "again",
+        "further", "then", "once", "here", "there", "when", "where", "why",
+        "how", "all", "any", "both", "each", "few", "more", "most", "other",
+        "some", "such", "no", "nor", "not", "only", "own", "same", "so",
+        "than", "too", "very", "s", "t", "can", "will", "just", "don", "should",
+        "now", "d", "ll", "m", "o", "re", "ve", "y", "ain", "aren", "couldn",
+        "didn", "doesn", "hadn", "hasn", "haven", "isn", "ma", "mightn", "mustn",
+        "needn", "shan", "shouldn", "wasn", "weren", "won", "wouldn"
+    );
+
+    /**
+     * Dependency labels the relation rules look at
+     */
+    private enum EdgeKind {
+        NSUBJ, NSUBJPASS, AGENT, OBJECT, NMOD, COMPOUND, AMOD, OTHER
+    }
+
+    private static final Map<String, EdgeKind> KINDS_WITHOUT_SPECIFIC = Map.of(
+        "nsubj", EdgeKind.NSUBJ,
+        "nsubjpass", EdgeKind.NSUBJPASS,
+        "agent", EdgeKind.AGENT,
+        "obj", EdgeKind.OBJECT,
+        "dobj", EdgeKind.OBJECT,
+        "iobj", EdgeKind.OBJECT,
+        "compound", EdgeKind.COMPOUND,
+        "amod", EdgeKind.AMOD
+    );
+
+    /**
+     * Extraction output of one annotated document, with document-local sentence indexes
+     */
+    public record Extraction(
+        List<Entity> entities,
+        List<Relationship> relationships,
+        List<String> keyPhrases,
+        int sentenceCount,
+        int tripleCount
+    ) {}
+
+    /**
+     * Per-sentence material collected during the walk and resolved afterwards
+     */
+    private record SentenceRelations(
+        int index,
+        Collection<RelationTriple> triples,
+        SemanticGraph dependencies,
+        List<SemanticGraphEdge> edges,
+        EdgeKind[] kinds
+    ) {}
+
+    private record ConceptMention(String name, int sentenceIndex) {}
+
+    private final CoreDocument document;
+    private final RelationVocabulary vocabulary;
+    private final boolean withRelations;
+    private final boolean withKeyPhrases;
+    private final ExtractionTrace trace;
+
+    private final Map<String, Entity> entityMap = new LinkedHashMap<>();
+    private final List<ConceptMention> conceptMentions = new ArrayList<>();
+    private final List<SentenceRelations> sentenceRelations = new ArrayList<>();
+    private final Set<String> keyPhrases = new LinkedHashSet<>();
+    private int tripleCount;
+
+    private final List<Relationship> relationships = new ArrayList<>();
+    private final Set<String> existingRelations = new HashSet<>();
+
+    private ExtractionWalker(CoreDocument document, RelationVocabulary vocabulary, boolean withRelations,
+                             boolean withKeyPhrases, ExtractionTrace trace) {
+        this.document = document;
+        this.vocabulary = vocabulary;
+        this.withRelations = withRelations;
+        this.withKeyPhrases = withKeyPhrases;
+        this.trace = trace;
+    }
+
+    public static Extraction walk(CoreDocument document, RelationVocabulary vocabulary,
+                                  boolean withRelations, boolean withKeyPhrases) {
+        return walk(document, vocabulary, withRelations, withKeyPhrases, ExtractionTrace.NOOP);
+    }
+
+    /**
+     * @param vocabulary relationship types the extracted relations are mapped onto
+     * @param withRelations whether the document has OpenIE/dependency annotations to mine
+     * @param withKeyPhrases whether the document has constituency parses to mine
+     * @param trace receives the triples, matches and decisions of the walk
+     */
+    public static Extraction walk(CoreDocument document, RelationVocabulary vocabulary,
+                                  boolean withRelations, boolean withKeyPhrases, ExtractionTrace trace) {
+        return new ExtractionWalker(document, vocabulary, withRelations, withKeyPhrases, trace).run();
+    }
+
+    private Extraction run() {
+        List<CoreSentence> sentences = document.sentences();
+        for (int sentenceIndex = 0; sentenceIndex < sentences.size(); sentenceIndex++) {
+            visitSentence(sentences.get(sentenceIndex), sentenceIndex);
+        }
+
+        // Relations are matched against named entities only, before OpenIE concepts are added
+        List<Relationship> resolved = new ArrayList<>();
+        if (withRelations) {
+            EntityIndex<String> entityIndex = new EntityIndex<>();
+            for (Entity entity : entityMap.values()) {
+                entityIndex.add(entity.getName(), entity.getName().toLowerCase());
+            }
+            resolveRelationships(entityIndex);
+            resolved = filterHighQualityRelationships(relationships);
+            if (trace.isEnabled()) {
+                trace.record("filter", "Kept {} of {} relationships (best per entity pair)",
+                    resolved.size(), relationships.size());
+            }
+        }
+
+        // Add entities from OpenIE triples
+        for (ConceptMention mention : conceptMentions) {
+            addOrUpdateEntity(mention.name(), "Concept", mention.sentenceIndex());
+        }
+
+        return new Extraction(
+            new ArrayList<>(entityMap.values()),
+            resolved,
+            new ArrayList<>(keyPhrases),
+            sentences.size(),
+            tripleCount
+        );
+    }
+
+    private void visitSentence(CoreSentence sentence, int sentenceIndex) {
+        collectNamedEntities(sentence.tokens(), sentenceIndex);
+
+        if (withRelations) {
+            Collection<RelationTriple> triples = sentence.coreMap().get(
+                NaturalLogicAnnotations.RelationTriplesAnnotation.class);
+            if (triples != null) {
+                tripleCount += triples.size();
+                for (RelationTriple triple : triples) {
+                    // Subjects and objects become entities if substantive
+                    collectConcept(triple.subjectLemmaGloss(), sentenceIndex);
+                    collectConcept(triple.objectLemmaGloss(), sentenceIndex);
+                }
+            }
+
+            SemanticGraph dependencies = sentence.dependencyParse();
+            List<SemanticGraphEdge> edges = List.of();
+            EdgeKind[] kinds = new EdgeKind[0];
+            if (dependencies != null) {
+                edges = dependencies.edgeListSorted();
+                kinds = new EdgeKind[edges.size()];
+                for (int i = 0; i < kinds.length; i++) {
+                    kinds[i] = kindOf(edges.get(i));
+                }
+            }
+            sentenceRelations.add(new SentenceRelations(sentenceIndex, triples, dependencies, edges, kinds));
+        }
+
+        // Use multi-word noun phrases as key phrases
+        if (withKeyPhrases) {
+            collectNounPhrases(sentence.constituencyParse());
+        }
+    }
+
+    private void collectNamedEntities(List<CoreLabel> tokens, int sentenceIndex) {
+        for (int i = 0; i < tokens.size(); i++) {
+            String ner = tokens.get(i).get(NamedEntityTagAnnotation.class);
+            if (ner == null || "O".equals(ner)) continue;
+
+            // Look ahead to see if this is a multi-token entity
+            StringBuilder entityText = new StringBuilder(tokens.get(i).originalText());
+            int j = i + 1;
+            while (j < tokens.size() && ner.equals(tokens.get(j).get(NamedEntityTagAnnotation.class))) {
+                entityText.append(' ').append(tokens.get(j).originalText());
+                j++;
+            }
+
+            // Skip the tokens we just processed
+            i = j - 1;
+
+            addOrUpdateEntity(entityText.toString(), mapNerType(ner), sentenceIndex);
+        }
+    }
+
+    private void collectConcept(String name, int sentenceIndex) {
+        if (name.length() > 2 && !DIGITS.matcher(name).matches() && !COMMON_PRONOUNS.contains(name.toLowerCase())) {
+            conceptMentions.add(new ConceptMention(name, sentenceIndex));
+        }
+    }
+
+    private void collectNounPhrases(Tree tree) {
+        if (tree == null) return;
+
+        if (tree.label() != null && "NP".equals(tree.label().value()) && tree.getLeaves().size() > 1) {
+            keyPhrases.add(WHITESPACE.matcher(tree.spanString()).replaceAll(" ").trim());
+        }
+        for (Tree child : tree.children()) {
+            if (child != null && !child.isLeaf()) {
+                collectNounPhrases(child);
+            }
+        }
+    }
+
+    private void addOrUpdateEntity(String name, String type, int position) {
+        String key = name.toLowerCase();
+        Entity entity = entityMap.get(key);
+        if (entity != null) {
+            entity.setMentionCount(entity.getMentionCount() + 1);
+            entity.addPosition(position);
+        } else {
+            if (trace.isEnabled()) {
+                trace.record("entity", "{} ({}) in sentence {}", name, type, position);
+            }
+            entity = new Entity();
+            entity.setName(name);
+            entity.setType(type);
+            entity.setMentionCount(1);
+            entity.addPosition(position);
+            entityMap.put(key, entity);
+        }
+    }
+
+    private void resolveRelationships(EntityIndex<String> entityIndex) {
+        Map<Integer, String> pronounMap = buildCoreferenceMap();
+
+        for (SentenceRelations sentence : sentenceRelations) {
+            int sentenceIndex = sentence.index();
+
+            // 1. First use OpenIE triples - these are high precision
+            if (sentence.triples() != null) {
+                for (RelationTriple triple : sentence.triples()) {
+                    String subject = resolvePronoun(triple.subjectLemmaGloss(), triple.subjectGloss(), sentenceIndex, pronounMap);
+                    String object = resolvePronoun(triple.objectLemmaGloss(), triple.objectGloss(), sentenceIndex, pronounMap);
+
+                    // Only process if subject and object are entities of interest
+                    String subjectEntity = findMatchingEntity(subject, entityIndex);
+                    String objectEntity = findMatchingEntity(object, entityIndex);
+
+                    if (trace.isEnabled()) {
+                        trace.record("triple", "Sentence {}: {} | {} | {} (confidence {}) matched to {} | {}",
+                            sentenceIndex, triple.subjectGloss(), triple.relationGloss(), triple.objectGloss(),
+                            triple.confidence, subjectEntity, objectEntity);
+                    }
+
+                    if (subjectEntity != null && objectEntity != null) {
+                        addRelationship(subjectEntity, vocabulary.map(triple.relationLemmaGloss()),
+                            triple.relationGloss(), objectEntity, 0.95, sentenceIndex);
+                    }
+                }
+            }
+
+            // 2. Fallback to dependency parsing for additional relationships
+            SemanticGraph dependencies = sentence.dependencies();
+            if (dependencies == null) continue;
+
+            List<SemanticGraphEdge> edges = sentence.edges();
+            EdgeKind[] kinds = sentence.kinds();
+
+            // Passive voice: "X was acquired by Y" -> Y ACQUIRED X
+            for (int i = 0; i < edges.size(); i++) {
+                if (kinds[i] != EdgeKind.NSUBJPASS) continue;
+                IndexedWord subject = edges.get(i).getDependent();
+                IndexedWord verb = edges.get(i).getGovernor();
+
+                // Look for logical subject (often in "by" phrase)
+                for (SemanticGraphEdge byEdge : dependencies.outgoingEdgeIterable(verb)) {
+                    if (kindOf(byEdge) != EdgeKind.AGENT) continue;
+
+                    IndexedWord agent = byEdge.getDependent();
+                    if (!isSubstantiveWord(agent.originalText())) continue;
+
+                    String sourceEntity = findFullEntity(agent, dependencies, entityIndex);
+                    String targetEntity = findFullEntity(subject, dependencies, entityIndex);
+                    if (trace.isEnabled()) {
+                        trace.record("passive", "Sentence {}: {} <-{}- {} matched to {} | {}",
+                            sentenceIndex, subject.originalText(), verb.originalText(), agent.originalText(),
+                            sourceEntity, targetEntity);
+                    }
+                    if (sourceEntity != null && targetEntity != null) {
+                        addRelationship(sourceEntity, vocabulary.map(lemmaOf(verb)),
+                            verb.originalText(), targetEntity, 0.85, sentenceIndex);
+                    }
+                }
+            }
+
+            // Find all verb-subject pairs (potential relationship sources)
+            for (int i = 0; i < edges.size(); i++) {
+                if (kinds[i] != EdgeKind.NSUBJ) continue;
+                IndexedWord subject = edges.get(i).getDependent();
+                IndexedWord verb = edges.get(i).getGovernor();
+
+                // Check if the subject is a substantive word
+                if (!isSubstantiveWord(subject.originalText())) continue;
+
+                String sourceEntity = findFullEntity(subject, dependencies, entityIndex);
+                if (sourceEntity == null) continue;
+
+                String relationType = vocabulary.map(lemmaOf(verb));
+
+                // Look for direct objects (targets) of this verb
+                for (SemanticGraphEdge objEdge : dependencies.outgoingEdgeIterable(verb)) {
+                    if (kindOf(objEdge) != EdgeKind.OBJECT) continue;
+
+                    IndexedWord object = objEdge.getDependent();
+                    if (!isSubstantiveWord(object.originalText())) continue;
+
+                    String targetEntity = findFullEntity(object, dependencies, entityIndex);
+                    if (trace.isEnabled()) {
+                        trace.record("dependency", "Sentence {}: {} -{}-> {} matched to {} | {}",
+                            sentenceIndex, subject.originalText(), verb.originalText(), object.originalText(),
+                            sourceEntity, targetEntity);
+                    }
+                    if (targetEntity == null) continue;
+
+                    addRelationship(sourceEntity, relationType, verb.originalText(), targetEntity, 0.9, sentenceIndex);
+                }
+
+                // Look for preposition-connected objects
+                // For sentences like "The President spoke with Congress"
+                for (SemanticGraphEdge prepEdge : dependencies.outgoingEdgeIterable(verb)) {
+                    if (kindOf(prepEdge) != EdgeKind.NMOD) continue;
+
+                    IndexedWord prepObject = prepEdge.getDependent();
+                    if (!isSubstantiveWord(prepObject.originalText())) continue;
+
+                    String targetEntity = findFullEntity(prepObject, dependencies, entityIndex);
+                    if (trace.isEnabled()) {
+                        trace.record("dependency", "Sentence {}: {} -{} {}-> {} matched to {} | {}",
+                            sentenceIndex, subject.originalText(), verb.originalText(),
+                            prepEdge.getRelation(), prepObject.originalText(), sourceEntity, targetEntity);
+                    }
+                    if (targetEntity == null) continue;
+
+                    // "spoke with" is looked up as "speak with" before falling back to "speak"
+                    String prep = prepEdge.getRelation().getSpecific();
+                    String prepRelationType = prep == null ? relationType : vocabulary.map(lemmaOf(verb) + " " + prep);
+                    String rawRelation = prep == null ? verb.originalText() : verb.originalText() + " " + prep;
+
+                    addRelationship(sourceEntity, prepRelationType, rawRelation, targetEntity, 0.85, sentenceIndex);
+                }
+            }
+        }
+    }
+
+    private static EdgeKind kindOf(SemanticGraphEdge edge) {
+        GrammaticalRelation relation = edge.getRelation();
+        String shortName = relation.getShortName();
+        String specific = relation.getSpecific();
+        if ("nmod".equals(shortName)) {
+            return EdgeKind.NMOD;
+        }
+        if (specific == null) {
+            return KINDS_WITHOUT_SPECIFIC.getOrDefault(shortName, EdgeKind.OTHER);
+        }
+        return "obl".equals(shortName) && "by".equals(specific) ? EdgeKind.AGENT : EdgeKind.OTHER;
+    }
+
+    private Map<Integer, String> buildCoreferenceMap() {
+        Map<Integer, String> pronounMap = new HashMap<>();
+
+        Map<Integer, CorefChain> corefChains =
+            document.annotation().get(CorefCoreAnnotations.CorefChainAnnotation.class);
+
+        if (corefChains == null) return pronounMap;
+
+        for (CorefChain chain : corefChains.values()) {
+            // Get the representative mention (usually the first and most complete reference)
+            String representativeName = chain.getRepresentativeMention().mentionSpan;
+
+            // Skip chains where representative is a pronoun
+            if (isPronoun(representativeName)) continue;
+
+            // Map every pronoun mention of this chain to the representative entity
+            for (CorefChain.CorefMention mention : chain.getMentionsInTextualOrder()) {
+                if (isPronoun(mention.mentionSpan)) {
+                    // CoreNLP uses 1-based indexing
+                    int mentionKey = (mention.sentNum - 1) * 10000 + (mention.headIndex - 1);
+                    pronounMap.put(mentionKey, representativeName);
+                }
+            }
+        }
+
+        return pronounMap;
+    }
+
+    // Replaces a pronoun subject/object of a triple with its coreferent entity
+    private String resolvePronoun(String lemma, String gloss, int sentenceIndex, Map<Integer, String> pronounMap) {
+        if (!isPronoun(lemma) || gloss.indexOf(lemma) < 0) return lemma;
+
+        // This is a rough approximation - in a full sentence, we need to count tokens
+        String[] tokens = WHITESPACE.split(gloss);
+        int tokenOffset = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equalsIgnoreCase(lemma)) {
+                tokenOffset = i;
+                break;
+            }
+        }
+
+        String resolved = pronounMap.getOrDefault(sentenceIndex * 10000 + tokenOffset, lemma);
+        if (trace.isEnabled()) {
+            trace.record("coref", "Sentence {}: pronoun '{}' resolved to '{}'", sentenceIndex, lemma, resolved);
+        }
+        return resolved;
+    }
+
+    // Helper to find the entity that matches or contains the given text
+    private static String findMatchingEntity(String text, EntityIndex<String> entityIndex) {
+        // Exact match
+        String exact = entityIndex.findExact(text);
+        if (exact != null) {
+            return exact;
+        }
+
+        // The text is part of an entity: keep the (longer) entity name
+        String containing = entityIndex.findContaining(text);
+        if (containing != null) {
+            return containing;
+        }
+
+        // The text mentions an entity: keep the (longer) text
+        if (entityIndex.findContainedIn(text) != null) {
+            return text;
+        }
+
+        return null;
+    }
+
+    // Helper to find the full entity containing this word (handles multi-word entities)
+    private static String findFullEntity(IndexedWord word, SemanticGraph graph, EntityIndex<String> entityIndex) {
+        // Start with the word itself
+        String entity = word.originalText();
+
+        // Check if it's part of a compound
+        for (SemanticGraphEdge edge : graph.incomingEdgeIterable(word)) {
+            if (kindOf(edge) == EdgeKind.COMPOUND) {
+                entity = edge.getGovernor().originalText() + " " + entity;
+            }
+        }
+        for (SemanticGraphEdge edge : graph.outgoingEdgeIterable(word)) {
+            if (kindOf(edge) == EdgeKind.COMPOUND) {
+                entity = entity + " " + edge.getDependent().originalText();
+            }
+        }
+
+        // Check for adjective modifiers
+        for (SemanticGraphEdge edge : graph.incomingEdgeIterable(word)) {
+            if (kindOf(edge) == EdgeKind.AMOD) {
+                entity = edge.getGovernor().originalText() + " " + entity;
+            }
+        }
+
+        // Check if this is a known entity
+        if (entityIndex.findExact(entity) != null) {
+            return entity;  // Return the original case
+        }
+
+        // If not a known entity, check if the single word is a known entity
+        if (entityIndex.findExact(word.originalText()) != null) {
+            return word.originalText();
+        }
+
+        // Check if this entity contains a known entity
+        if (entityIndex.findContainedIn(entity) != null) {
+            return entity;
+        }
+
+        // Not a known entity, return null
+        return null;
+    }
+
+    private void addRelationship(String sourceEntity, String relationType, String rawRelation,
+                                 String targetEntity, double confidence, int sentenceIndex) {
+        // Skip if source or target is empty or too short
+        if (sourceEntity == null || targetEntity == null ||
+            sourceEntity.trim().length() < 2 || targetEntity.trim().length() < 2 ||
+            sourceEntity.trim().equalsIgnoreCase(targetEntity.trim())) {
+            return;
+        }
+
+        // Skip if we've already seen this exact relationship
+        String relationKey = sourceEntity.toLowerCase() + "|" +
+                             relationType.toLowerCase() + "|" +
+                             targetEntity.toLowerCase();
+        if (!existingRelations.add(relationKey)) {
+            return;
+        }
+
+        if (trace.isEnabled()) {
+            trace.record("relationship", "{} -[{}]-> {} (relation '{}', confidence {}, sentence {})",
+                sourceEntity, relationType, targetEntity, rawRelation, confidence, sentenceIndex);
+        }
+
+        Relationship rel = new Relationship();
+        rel.setSourceEntity(sourceEntity);
+        rel.setTargetEntity(targetEntity);
+        rel.setType(relationType);
+        rel.setRawRelation(rawRelation);
+        rel.setConfidence(confidence);
+        rel.setSentenceIndex(sentenceIndex);
+
+        relationships.add(rel);
+    }
+
+    /**
+     * Keeps only the most confident relationship for each source-target pair
+     */
+    public static List<Relationship> filterHighQualityRelationships(List<Relationship> allRelationships) {
+        // Sort by confidence (highest first)
+        allRelationships.sort((r1, r2) -> Double.compare(r2.getConfidence(), r1.getConfidence()));
+
+        // Filter out lower confidence duplicates (same source-target but different relation)
+        Map<String, Relationship> bestRelationships = new LinkedHashMap<>();
+        for (Relationship rel : allRelationships) {
+            String pairKey = rel.getSourceEntity().toLowerCase() + "|" + rel.getTargetEntity().toLowerCase();
+            Relationship best = bestRelationships.get(pairKey);
+            if (best == null || best.getConfidence() < rel.getConfidence()) {
+                bestRelationships.put(pairKey, rel);
+            }
+        }
+
+        return new ArrayList<>(bestRelationships.values());
+    }
+
+    private static String lemmaOf(IndexedWord word) {
+        String lemma = word.lemma();
+        return lemma != null ? lemma : word.originalText();
+    }
+
+    private static boolean isPronoun(String text) {
+        return PRONOUNS.contains(text.toLowerCase());
+    }
+
+    private static boolean isSubstantiveWord(String word) {
+        return word.length() > 1 &&
+               !STOPWORDS.contains(word.toLowerCase()) &&
+               !DIGITS.matcher(word).matches(); // not just a number
+    }
+
+    private static String mapNerType(String stanfordNerType) {
+        switch (stanfordNerType) {
+            case "PERSON":
+                return "Person";
+            case "LOCATION":
+            case "CITY":
+            case "COUNTRY":
+            case "STATE_OR_PROVINCE":
+                return "Location";
+            case "ORGANIZATION":
+                return "Organization";
+            case "DATE":
+            case "TIME":
+                return "Time";
+            case "MONEY":
+            case "PERCENT":
+            case "NUMBER":
+                return "Numerical";
+            case "MISC":
+                return "Miscellaneous";
+            default:
+                return "Other";
+        }
+    }
+}
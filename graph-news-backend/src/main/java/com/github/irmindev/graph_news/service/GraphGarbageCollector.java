@@ -0,0 +1,175 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.graph.GraphCleanupReport;
+import com.github.irmindev.graph_news.repository.NewsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Periodically reclaims what news deletions left behind: News nodes of
+ * articles that are gone from Postgres (their deletion couldn't reach Neo4j),
+ * relationship edges without supporting articles, entities no article
+ * mentions and graph documents of deleted articles. Deletes run in batches of {@code batch-size} rows, each in its
+ * own transaction, so no lock is held for long.
+ */
+@Component
+public class GraphGarbageCollector {
+    private static final Logger logger = LoggerFactory.getLogger(GraphGarbageCollector.class);
+
+    private final Driver neo4jDriver;
+    private final Neo4jGraphService neo4jGraphService;
+    private final NewsRepository newsRepository;
+    private final NewsGraphDocumentService graphDocuments;
+    private final IngestionMetrics ingestionMetrics;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<GraphCleanupReport> lastReport = new AtomicReference<>();
+
+    @Autowired
+    public GraphGarbageCollector(
+        Driver neo4jDriver,
+        Neo4jGraphService neo4jGraphService,
+        NewsRepository newsRepository,
+        NewsGraphDocumentService graphDocuments,
+        IngestionMetrics ingestionMetrics,
+        @Value("${graph.gc.enabled:true}") boolean enabled,
+        @Value("${graph.gc.interval-minutes:60}") long intervalMinutes,
+        @Value("${graph.gc.batch-size:1000}") int batchSize
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.neo4jGraphService = neo4jGraphService;
+        this.newsRepository = newsRepository;
+        this.graphDocuments = graphDocuments;
+        this.ingestionMetrics = ingestionMetrics;
+        this.batchSize = Math.max(1, batchSize);
+
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "graph-gc");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::scheduledRun, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    private void scheduledRun() {
+        try {
+            collect();
+        } catch (RuntimeException e) {
+            logger.error("Graph garbage collection failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs one collection and reports what it reclaimed
+     */
+    public synchronized GraphCleanupReport collect() {
+        long start = System.nanoTime();
+        GraphCleanupReport report = deleteMissingNews()
+            .plus(deleteUnsupportedEdges())
+            .plus(deleteOrphanEntities());
+        int documents = graphDocuments.deleteOrphans();
+
+        lastReport.set(report);
+        ingestionMetrics.recordGraphCleanup(report);
+        logger.info("Graph garbage collection reclaimed {} news nodes, {} entity nodes, {} edges and {} graph documents in {} ms",
+            report.newsNodes(), report.entityNodes(), report.edges(), documents,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Report of the last collection, null before the first one
+     */
+    public GraphCleanupReport getLastReport() {
+        return lastReport.get();
+    }
+
+    // Walks News.sourceId in index order and drops the pages' articles that Postgres no longer has
+    private GraphCleanupReport deleteMissingNews() {
+        GraphCleanupReport report = GraphCleanupReport.EMPTY;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Long> sourceIds;
+            try (Session session = neo4jDriver.session()) {
+                long from = after;
+                sourceIds = session.executeRead(tx -> tx.run(
+                    "MATCH (n:News) WHERE n.sourceId > $after " +
+                    "RETURN n.sourceId AS sourceId ORDER BY n.sourceId LIMIT $limit",
+                    Map.of("after", from, "limit", batchSize))
+                    .list(record -> record.get("sourceId").asLong()));
+            }
+            if (sourceIds.isEmpty()) break;
+
+            Set<Long> missing = new HashSet<>(sourceIds);
+            missing.removeAll(newsRepository.findExistingIds(sourceIds));
+            if (!missing.isEmpty()) {
+                report = report.plus(neo4jGraphService.deleteNewsGraphs(missing));
+            }
+
+            if (sourceIds.size() < batchSize) break;
+            after = sourceIds.get(sourceIds.size() - 1);
+        }
+        return report;
+    }
+
+    private GraphCleanupReport deleteUnsupportedEdges() {
+        try (Session session = neo4jDriver.session()) {
+            Record record = session.run(
+                "MATCH (:Entity)-[r]->(:Entity) WHERE r.support <= 0 " +
+                "CALL { WITH r DELETE r } IN TRANSACTIONS OF " + batchSize + " ROWS " +
+                "RETURN count(*) AS edges").single();
+            return new GraphCleanupReport(0, 0, record.get("edges").asLong());
+        }
+    }
+
+    // Stale ids left in the entity id cache are detected and dropped by the next write that uses them
+    private GraphCleanupReport deleteOrphanEntities() {
+        try (Session session = neo4jDriver.session()) {
+            Record record = session.run(
+                "MATCH (e:Entity) WHERE NOT (e)-[:MENTIONED_IN]->() " +
+                "CALL { " +
+                "  WITH e " +
+                "  OPTIONAL MATCH (e)-[r]-() " +
+                "  WITH e, count(r) AS edges " +
+                "  DETACH DELETE e " +
+                "  RETURN edges " +
+                "} IN TRANSACTIONS OF " + batchSize + " ROWS " +
+                "RETURN count(*) AS nodes, coalesce(sum(edges), 0) AS edges").single();
+            return new GraphCleanupReport(0, record.get("nodes").asLong(), record.get("edges").asLong());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) return;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
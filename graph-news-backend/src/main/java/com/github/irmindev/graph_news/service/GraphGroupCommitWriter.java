@@ -0,0 +1,188 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.enums.GraphWriteMode;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind front of {@link Neo4jGraphService}: articles submitted by
+ * concurrent uploads are collected into micro-batches, closed after
+ * {@code max-batch} articles or {@code linger-ms} after the first one, and
+ * each batch is committed in one transaction. When a batch fails, its
+ * articles are retried one transaction each, so one bad article only fails
+ * its own future.
+ */
+@Service
+public class GraphGroupCommitWriter {
+    private static final Logger logger = LoggerFactory.getLogger(GraphGroupCommitWriter.class);
+
+    private record PendingWrite(GraphWriteBatch batch, NewsDTO newsDto, ExtractionTrace trace,
+                                CompletableFuture<Void> future) {
+    }
+
+    private final Neo4jGraphService neo4jGraphService;
+    private final IngestionMetrics ingestionMetrics;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public GraphGroupCommitWriter(
+        Neo4jGraphService neo4jGraphService,
+        IngestionMetrics ingestionMetrics,
+        @Value("${graph.write.group-commit.enabled:true}") boolean enabled,
+        @Value("${graph.write.group-commit.max-batch:50}") int maxBatch,
+        @Value("${graph.write.group-commit.linger-ms:5}") long lingerMillis,
+        @Value("${graph.write.group-commit.queue-capacity:1000}") int queueCapacity
+    ) {
+        this.neo4jGraphService = neo4jGraphService;
+        this.ingestionMetrics = ingestionMetrics;
+        // Per-statement writes can't be batched across articles
+        this.enabled = enabled && neo4jGraphService.getWriteMode() == GraphWriteMode.BATCHED;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        if (this.enabled) {
+            ingestionMetrics.registerGraphWriteQueue(queue);
+            this.worker = new Thread(this::run, "graph-writer");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.worker = null;
+        }
+    }
+
+    /**
+     * Queues the article for the next batch. Blocks while the queue is full,
+     * which slows ingestion down to what the graph can absorb.
+     *
+     * @return completes once the article is committed, or exceptionally if it
+     *         could not be written
+     */
+    public CompletableFuture<Void> write(NewsProcessingResult processingResult, NewsDTO newsDto, ExtractionTrace trace) {
+        if (!enabled || !running) {
+            try {
+                neo4jGraphService.write(processingResult, newsDto, trace);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                logger.error("Error storing processed news in Neo4j: {}", newsDto.getTitle(), e);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            GraphWriteBatch batch = GraphWriteBatch.of(processingResult, newsDto, trace);
+            queue.put(new PendingWrite(batch, newsDto, trace, future));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+
+                List<PendingWrite> pending = new ArrayList<>(maxBatch);
+                pending.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (pending.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    pending.add(next);
+                }
+                commit(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Graph writer loop failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> pending) {
+        try {
+            neo4jGraphService.writeBatches(pending.stream().map(PendingWrite::batch).toList());
+            ingestionMetrics.recordGraphCommit(pending.size(), true, false);
+            pending.forEach(write -> succeeded(write, pending.size()));
+            return;
+        } catch (RuntimeException e) {
+            ingestionMetrics.recordGraphCommit(pending.size(), false, false);
+            if (pending.size() == 1) {
+                failed(pending.get(0), e);
+                return;
+            }
+            logger.warn("Graph write batch of {} articles failed, retrying them one by one: {}",
+                pending.size(), e.getMessage());
+        }
+
+        for (PendingWrite write : pending) {
+            try {
+                neo4jGraphService.writeBatches(List.of(write.batch()));
+                ingestionMetrics.recordGraphCommit(1, true, true);
+                succeeded(write, 1);
+            } catch (RuntimeException e) {
+                ingestionMetrics.recordGraphCommit(1, false, true);
+                failed(write, e);
+            }
+        }
+    }
+
+    private void succeeded(PendingWrite write, int batchSize) {
+        GraphWriteBatch batch = write.batch();
+        if (write.trace().isEnabled()) {
+            write.trace().record("graph", "Wrote {} entities and {} relationships ({} relationship types) in a batch of {} articles",
+                batch.getEntityCount(), batch.getRelationshipCount(), batch.getRelationshipTypeCount(), batchSize);
+        }
+        logger.info("Successfully stored processed news in Neo4j: {}", write.newsDto().getTitle());
+        write.future().complete(null);
+    }
+
+    private void failed(PendingWrite write, RuntimeException e) {
+        logger.error("Error storing processed news in Neo4j: {}", write.newsDto().getTitle(), e);
+        write.trace().record("graph", "Graph write failed: {}", e.getMessage());
+        write.future().completeExceptionally(e);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker == null) return;
+        // The worker commits what is still queued before it exits
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
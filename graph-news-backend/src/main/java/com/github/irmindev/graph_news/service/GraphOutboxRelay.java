@@ -0,0 +1,194 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.entity.GraphOutboxEvent;
+import com.github.irmindev.graph_news.model.entity.News;
+import com.github.irmindev.graph_news.model.enums.GraphOutboxStatus;
+import com.github.irmindev.graph_news.model.enums.GraphWriteMode;
+import com.github.irmindev.graph_news.model.mapper.NewsMapper;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.repository.NewsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the graph outbox: articles whose upload did not write them to Neo4j
+ * (the write failed, or the app stopped before it) are re-read from Postgres,
+ * annotated again (usually a hit in the NLP result cache) and written in
+ * batches of {@code batch-size}, one transaction per batch.
+ */
+@Component
+public class GraphOutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(GraphOutboxRelay.class);
+
+    private record Prepared(Long newsId, NewsDTO newsDto, NewsProcessingResult processingResult) {
+    }
+
+    private final GraphOutboxService graphOutbox;
+    private final NewsRepository newsRepository;
+    private final StanfordNLPProcessor stanfordNLPProcessor;
+    private final Neo4jGraphService neo4jGraphService;
+    private final NewsGraphDocumentService graphDocuments;
+    private final IngestionMetrics ingestionMetrics;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public GraphOutboxRelay(
+        GraphOutboxService graphOutbox,
+        NewsRepository newsRepository,
+        StanfordNLPProcessor stanfordNLPProcessor,
+        Neo4jGraphService neo4jGraphService,
+        NewsGraphDocumentService graphDocuments,
+        IngestionMetrics ingestionMetrics,
+        @Value("${graph.outbox.relay.enabled:true}") boolean enabled,
+        @Value("${graph.outbox.relay.interval-ms:5000}") long intervalMillis,
+        @Value("${graph.outbox.relay.batch-size:50}") int batchSize
+    ) {
+        this.graphOutbox = graphOutbox;
+        this.newsRepository = newsRepository;
+        this.stanfordNLPProcessor = stanfordNLPProcessor;
+        this.neo4jGraphService = neo4jGraphService;
+        this.graphDocuments = graphDocuments;
+        this.ingestionMetrics = ingestionMetrics;
+        this.batchSize = Math.max(1, batchSize);
+
+        ingestionMetrics.registerGraphOutbox(graphOutbox,
+            outbox -> outbox.countByStatus(GraphOutboxStatus.PENDING),
+            outbox -> outbox.countByStatus(GraphOutboxStatus.DEAD),
+            outbox -> outbox.getLag().toSeconds());
+
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "graph-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::drain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Relays due articles until fewer than a full batch is left
+     *
+     * @return the number of articles claimed
+     */
+    public int drain() {
+        // Claiming while the models load would only burn attempts
+        if (!stanfordNLPProcessor.isReady()) return 0;
+
+        int relayed = 0;
+        try {
+            List<GraphOutboxEvent> claimed;
+            do {
+                claimed = graphOutbox.claimDue(batchSize);
+                relay(claimed);
+                relayed += claimed.size();
+            } while (claimed.size() == batchSize);
+
+            graphOutbox.purgeProcessed();
+        } catch (RuntimeException e) {
+            // Claimed articles whose outcome wasn't recorded are picked up again once the lease expires
+            logger.error("Graph outbox relay failed: {}", e.getMessage(), e);
+        }
+        return relayed;
+    }
+
+    private void relay(List<GraphOutboxEvent> claimed) {
+        if (claimed.isEmpty()) return;
+
+        Map<Long, News> newsById = newsRepository.findAllById(claimed.stream().map(GraphOutboxEvent::getNewsId).toList())
+            .stream()
+            .collect(Collectors.toMap(News::getId, Function.identity()));
+
+        List<Prepared> prepared = new ArrayList<>();
+        for (GraphOutboxEvent event : claimed) {
+            Long newsId = event.getNewsId();
+            News news = newsById.get(newsId);
+            if (news == null) {
+                // Deleted since it was saved, nothing left to write
+                graphOutbox.complete(newsId);
+                continue;
+            }
+            try {
+                NewsDTO newsDto = NewsMapper.toDto(news);
+                NewsProcessingResult processingResult = stanfordNLPProcessor.processNewsText(
+                    newsDto.getContent(), newsDto.getTitle(), event.getProfile(), ExtractionTrace.NOOP);
+                prepared.add(new Prepared(newsId, newsDto, processingResult));
+            } catch (RuntimeException e) {
+                ingestionMetrics.recordOutboxRelay(false);
+                graphOutbox.fail(newsId, "NLP failed: " + e.getMessage());
+            }
+        }
+
+        if (prepared.size() > 1 && neo4jGraphService.getWriteMode() == GraphWriteMode.BATCHED) {
+            if (writeBatch(prepared)) return;
+        }
+        for (Prepared article : prepared) {
+            try {
+                neo4jGraphService.write(article.processingResult(), article.newsDto(), ExtractionTrace.NOOP);
+            } catch (RuntimeException e) {
+                ingestionMetrics.recordOutboxRelay(false);
+                graphOutbox.fail(article.newsId(), e.getMessage());
+                continue;
+            }
+            ingestionMetrics.recordOutboxRelay(true);
+            graphOutbox.complete(article.newsId());
+            logger.info("Relayed news {} from the graph outbox", article.newsId());
+            graphDocuments.materialize(article.newsId());
+        }
+    }
+
+    // One transaction for the whole batch; on failure the caller retries the articles one by one
+    private boolean writeBatch(List<Prepared> prepared) {
+        try {
+            neo4jGraphService.writeBatches(prepared.stream()
+                .map(article -> GraphWriteBatch.of(article.processingResult(), article.newsDto(), ExtractionTrace.NOOP))
+                .toList());
+            ingestionMetrics.recordGraphCommit(prepared.size(), true, false);
+        } catch (RuntimeException e) {
+            ingestionMetrics.recordGraphCommit(prepared.size(), false, false);
+            logger.warn("Graph outbox batch of {} articles failed, retrying them one by one: {}",
+                prepared.size(), e.getMessage());
+            return false;
+        }
+
+        for (Prepared article : prepared) {
+            ingestionMetrics.recordOutboxRelay(true);
+            graphOutbox.complete(article.newsId());
+            graphDocuments.materialize(article.newsId());
+        }
+        logger.info("Relayed {} articles from the graph outbox", prepared.size());
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) return;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
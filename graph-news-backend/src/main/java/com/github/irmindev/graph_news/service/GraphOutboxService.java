@@ -0,0 +1,214 @@
+package com.github.irmindev.graph_news.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.irmindev.graph_news.model.entity.GraphOutboxEvent;
+import com.github.irmindev.graph_news.model.enums.GraphOutboxStatus;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
+import com.github.irmindev.graph_news.repository.GraphOutboxRepository;
+
+/**
+ * Bookkeeping of the graph outbox. A writer (the upload itself or
+ * {@link GraphOutboxRelay}) claims an article before writing it, so it is
+ * never written twice at the same time, then completes or fails the claim.
+ * Claims that are neither completed nor failed expire after the lease.
+ */
+@Service
+public class GraphOutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(GraphOutboxService.class);
+
+    private final GraphOutboxRepository outboxRepository;
+    private final Duration firstAttemptDelay;
+    private final Duration lease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    @Autowired
+    public GraphOutboxService(
+        GraphOutboxRepository outboxRepository,
+        @Value("${graph.outbox.first-attempt-delay-seconds:60}") long firstAttemptDelaySeconds,
+        @Value("${graph.outbox.lease-seconds:600}") long leaseSeconds,
+        @Value("${graph.outbox.backoff-base-seconds:10}") long backoffBaseSeconds,
+        @Value("${graph.outbox.backoff-max-seconds:3600}") long backoffMaxSeconds,
+        @Value("${graph.outbox.max-attempts:8}") int maxAttempts,
+        @Value("${graph.outbox.retention-hours:24}") long retentionHours
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.firstAttemptDelay = Duration.ofSeconds(firstAttemptDelaySeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.backoffBase = Duration.ofSeconds(backoffBaseSeconds);
+        this.backoffMax = Duration.ofSeconds(backoffMaxSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Records the pending graph write of a just saved article, annotated with
+     * {@code profile} (the configured default when null). Must run in the
+     * transaction that saves the article. The relay leaves it to the upload
+     * for {@code first-attempt-delay-seconds}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long newsId, NlpProfile profile) {
+        Instant now = Instant.now();
+        outboxRepository.save(new GraphOutboxEvent(newsId, profile, now, now.plus(firstAttemptDelay)));
+    }
+
+    /**
+     * @return whether the caller now owns the article's graph write
+     */
+    @Transactional
+    public boolean claim(Long newsId) {
+        Instant now = Instant.now();
+        return outboxRepository.claim(newsId, now, now.minus(lease)) == 1;
+    }
+
+    /**
+     * Claims up to {@code limit} articles whose next attempt is due
+     */
+    @Transactional
+    public List<GraphOutboxEvent> claimDue(int limit) {
+        Instant now = Instant.now();
+        Instant leaseExpiry = now.minus(lease);
+        List<GraphOutboxEvent> claimed = new ArrayList<>();
+        for (GraphOutboxEvent event : outboxRepository.findDue(now, leaseExpiry, PageRequest.of(0, limit))) {
+            if (outboxRepository.claim(event.getNewsId(), now, leaseExpiry) == 1) {
+                claimed.add(event);
+            }
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void complete(Long newsId) {
+        outboxRepository.findByNewsId(newsId).ifPresent(event -> {
+            event.setStatus(GraphOutboxStatus.DONE);
+            event.setProcessedAt(Instant.now());
+            event.setClaimedAt(null);
+        });
+    }
+
+    /**
+     * Gives the claim back with a retry time that doubles with every attempt,
+     * or marks the article DEAD after {@code max-attempts}.
+     */
+    @Transactional
+    public void fail(Long newsId, String error) {
+        outboxRepository.findByNewsId(newsId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setClaimedAt(null);
+            event.setLastError(truncate(error));
+
+            if (attempts >= maxAttempts) {
+                event.setStatus(GraphOutboxStatus.DEAD);
+                logger.error("Graph write of news {} failed {} times, giving up: {}", newsId, attempts, error);
+            } else {
+                event.setStatus(GraphOutboxStatus.PENDING);
+                event.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+                logger.warn("Graph write of news {} failed (attempt {} of {}), retrying at {}: {}",
+                    newsId, attempts, maxAttempts, event.getNextAttemptAt(), error);
+            }
+        });
+    }
+
+    /**
+     * Queues a failed or dead article for an immediate attempt with a fresh
+     * attempt budget
+     *
+     * @return false if the article has no outbox entry or is not waiting for a retry
+     */
+    @Transactional
+    public boolean retry(Long newsId) {
+        Optional<GraphOutboxEvent> found = outboxRepository.findByNewsId(newsId);
+        if (found.isEmpty()) return false;
+
+        GraphOutboxEvent event = found.get();
+        if (event.getStatus() != GraphOutboxStatus.DEAD && event.getStatus() != GraphOutboxStatus.PENDING) {
+            return false;
+        }
+        event.setStatus(GraphOutboxStatus.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(Instant.now());
+        return true;
+    }
+
+    /**
+     * Deletes completed entries older than the retention
+     */
+    @Transactional
+    public int purgeProcessed() {
+        return outboxRepository.deleteProcessedBefore(Instant.now().minus(retention));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(Long newsId) {
+        outboxRepository.deleteByNewsId(newsId);
+    }
+
+    public long countByStatus(GraphOutboxStatus status) {
+        return outboxRepository.countByStatus(status);
+    }
+
+    /**
+     * Age of the oldest article that is not in the graph yet (zero when the
+     * outbox is drained). DEAD articles are not counted.
+     */
+    public Duration getLag() {
+        return outboxRepository.findOldestUnprocessedCreatedAt()
+            .map(oldest -> Duration.between(oldest, Instant.now()))
+            .orElse(Duration.ZERO);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", countByStatus(GraphOutboxStatus.PENDING));
+        stats.put("inProgress", countByStatus(GraphOutboxStatus.IN_PROGRESS));
+        stats.put("dead", countByStatus(GraphOutboxStatus.DEAD));
+        stats.put("lagSeconds", getLag().toSeconds());
+
+        List<Map<String, Object>> failures = new ArrayList<>();
+        for (GraphOutboxEvent event : outboxRepository.findByLastErrorIsNotNullAndStatusNotOrderByNextAttemptAtDesc(
+                GraphOutboxStatus.DONE, PageRequest.of(0, 20))) {
+            Map<String, Object> failure = new LinkedHashMap<>();
+            failure.put("newsId", event.getNewsId());
+            failure.put("status", event.getStatus());
+            failure.put("attempts", event.getAttempts());
+            failure.put("nextAttemptAt", event.getNextAttemptAt());
+            failure.put("lastError", event.getLastError());
+            failures.add(failure);
+        }
+        stats.put("recentFailures", failures);
+        return stats;
+    }
+
+    Duration backoff(int attempts) {
+        // 2^(attempts - 1) times the base, without overflowing for large attempt counts
+        Duration delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return "Unknown error";
+        return error.length() <= GraphOutboxEvent.MAX_ERROR_LENGTH
+            ? error
+            : error.substring(0, GraphOutboxEvent.MAX_ERROR_LENGTH);
+    }
+}
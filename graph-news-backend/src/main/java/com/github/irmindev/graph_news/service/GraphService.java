@@ -2,126 +2,271 @@ package com.github.irmindev.graph_news.service;
 
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Record;
-import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.types.MapAccessor;
 import org.neo4j.driver.types.Node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.model.entity.NewsGraphDocument;
 import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
 import com.github.irmindev.graph_news.model.graph.EntityNode;
 import com.github.irmindev.graph_news.model.graph.EntityRelationship;
 import com.github.irmindev.graph_news.model.graph.NewsGraph;
 import com.github.irmindev.graph_news.model.graph.NewsNode;
+import com.github.irmindev.graph_news.model.graph.TimeWindowGraph;
+import com.github.irmindev.graph_news.repository.NewsGraphDocumentRepository;
+import com.github.irmindev.graph_news.repository.NewsRepository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class GraphService {
+    // Entities ranked by mentions and cut to $maxEntities; relationships are the ones this
+    // article asserted (recorded on its mentions, see GraphWriteBatch) between two kept entities
+    private static final String NEWS_GRAPH_QUERY =
+        "MATCH (n:News {sourceId: $sourceId}) " +
+        "CALL { " +
+        "  WITH n " +
+        "  MATCH (e:Entity)-[m:MENTIONED_IN]->(n) " +
+        "  WITH e, m.count AS mentionCount ORDER BY mentionCount DESC, e.name LIMIT $maxEntities " +
+        "  RETURN collect({entity: e, mentionCount: mentionCount}) AS entities " +
+        "} " +
+        "CALL { " +
+        "  WITH n, entities " +
+        "  WITH n, [row IN entities | row.entity] AS kept " +
+        "  UNWIND kept AS e1 " +
+        "  MATCH (e1)-[m:MENTIONED_IN]->(n) " +
+        "  UNWIND coalesce(m.assertions, []) AS assertion " +
+        "  WITH kept, e1, split(assertion, '|') AS asserted " +
+        "  MATCH (e2:Entity {id: asserted[1]}) WHERE e2 IN kept " +
+        "  MATCH (e1)-[r]->(e2) WHERE type(r) = asserted[0] AND r.confidence >= $minConfidence " +
+        "  RETURN collect({sourceId: e1.id, targetId: e2.id, type: type(r), originalType: r.type, " +
+        "    confidence: r.confidence, maxConfidence: r.maxConfidence, support: r.support, " +
+        "    rawRelations: coalesce(r.rawRelations, [])}) AS relationships " +
+        "} " +
+        "RETURN n, entities, relationships, COUNT { (:Entity)-[:MENTIONED_IN]->(n) } AS totalEntities";
+
+    // Newest articles of the window first (index-backed order), one more than allowed to tell if it was cut
+    private static final String WINDOW_GRAPH =
+        "MATCH (n:News) WHERE n.createdAt >= $from AND n.createdAt < $to " +
+        "WITH n ORDER BY n.createdAt DESC LIMIT $maxNews + 1 " +
+        "WITH collect(n) AS window " +
+        "WITH window[..$maxNews] AS news, size(window) > $maxNews AS truncated " +
+        "CALL { " +
+        "  WITH news " +
+        "  UNWIND news AS n " +
+        "  MATCH (e:Entity)-[m:MENTIONED_IN]->(n) " +
+        "  WITH e, sum(m.count) AS mentionCount ORDER BY mentionCount DESC LIMIT $limit " +
+        "  RETURN collect({entity: e, mentionCount: mentionCount}) AS entities " +
+        "} " +
+        // Edges between the ranked entities asserted by an article of the window
+        "WITH news, truncated, entities, [x IN entities | x.entity] AS ranked " +
+        "CALL { " +
+        "  WITH news, ranked " +
+        "  UNWIND news AS n " +
+        "  MATCH (e1:Entity)-[m:MENTIONED_IN]->(n) WHERE m.assertions IS NOT NULL AND e1 IN ranked " +
+        "  UNWIND m.assertions AS assertion " +
+        "  WITH DISTINCT ranked, e1, split(assertion, '|') AS asserted " +
+        "  MATCH (e2:Entity {id: asserted[1]}) WHERE e2 IN ranked " +
+        "  MATCH (e1)-[r]->(e2) WHERE type(r) = asserted[0] " +
+        "  RETURN collect({sourceId: e1.id, targetId: e2.id, type: type(r), originalType: r.type, " +
+        "    confidence: r.confidence, maxConfidence: r.maxConfidence, support: r.support, " +
+        "    rawRelations: coalesce(r.rawRelations, [])}) AS relationships " +
+        "} " +
+        "RETURN size(news) AS newsCount, truncated, entities, relationships";
+
     private final Driver neo4jDriver;
+    private final NewsRepository newsRepository;
+    private final NewsGraphCache newsGraphCache;
+    private final NewsGraphDocumentRepository newsGraphDocumentRepository;
+    private final ObjectMapper objectMapper;
+    private final int windowMaxNews;
     private final Logger logger = LoggerFactory.getLogger(GraphService.class);
 
     @Autowired
-    public GraphService(Driver neo4jDriver) {
+    public GraphService(Driver neo4jDriver, NewsRepository newsRepository, NewsGraphCache newsGraphCache,
+                        NewsGraphDocumentRepository newsGraphDocumentRepository, ObjectMapper objectMapper,
+                        @Value("${graph.window.max-news:5000}") int windowMaxNews) {
         this.neo4jDriver = neo4jDriver;
+        this.newsRepository = newsRepository;
+        this.newsGraphCache = newsGraphCache;
+        this.newsGraphDocumentRepository = newsGraphDocumentRepository;
+        this.objectMapper = objectMapper;
+        this.windowMaxNews = Math.max(1, windowMaxNews);
     }
 
     public NewsGraph getNewsGraph(Long newsId) {
+        return getNewsGraph(newsId, false);
+    }
+
+    public NewsGraph getNewsGraph(Long newsId, boolean includeText) {
+        return getNewsGraph(newsId, includeText, null, 0.0);
+    }
+
+    /**
+     * Same as {@link #getNewsGraph(Long, boolean, Integer, double)}, served
+     * from {@link NewsGraphCache} with the ETag of the response
+     */
+    public NewsGraphCache.Entry getCachedNewsGraph(Long newsId, boolean includeText, Integer maxEntities,
+                                                   double minConfidence) {
+        return newsGraphCache.get(new NewsGraphCache.Key(newsId, includeText, maxEntities, minConfidence),
+            () -> getNewsGraph(newsId, includeText, maxEntities, minConfidence));
+    }
+
+    /**
+     * The article's node, entities and relationships, read from its
+     * materialized document. Articles without one (ingested before documents
+     * existed, or whose document write failed) are fetched from Neo4j.
+     *
+     * @param includeText whether to add the article text, read from the relational store
+     * @param maxEntities keep only this many entities, the most mentioned ones (all when null)
+     * @param minConfidence leave out relationships with a lower average confidence
+     */
+    public NewsGraph getNewsGraph(Long newsId, boolean includeText, Integer maxEntities, double minConfidence) {
+        NewsGraph graph = readDocument(newsId)
+            .map(document -> trim(document, maxEntities, minConfidence))
+            .orElseGet(() -> queryNewsGraph(newsId, maxEntities, minConfidence));
+        if (includeText) {
+            graph.getNews().setText(newsRepository.findContentById(newsId).orElse(null));
+        }
+        return graph;
+    }
+
+    /**
+     * The article's whole graph straight from Neo4j, as stored in its document
+     */
+    public NewsGraph queryNewsGraph(Long newsId) {
+        return queryNewsGraph(newsId, null, 0.0);
+    }
+
+    // Fetches the article's node, entities and relationships in one query
+    private NewsGraph queryNewsGraph(Long newsId, Integer maxEntities, double minConfidence) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("sourceId", newsId);
+        parameters.put("maxEntities", maxEntities != null ? maxEntities : Integer.MAX_VALUE);
+        parameters.put("minConfidence", minConfidence);
+
         try (Session session = neo4jDriver.session()) {
-            // First, check if the news exists in Neo4j
-            String checkQuery = "MATCH (n:News {sourceId: $sourceId}) RETURN n";
-            Result checkResult = session.run(checkQuery, Map.of("sourceId", newsId.toString()));
-            
-            if (!checkResult.hasNext()) {
+            List<Record> records = session.executeRead(tx -> tx.run(NEWS_GRAPH_QUERY, parameters).list());
+            if (records.isEmpty()) {
                 throw new EntityNotFoundException();
             }
-            
-            // Get the news node
-            Record newsRecord = checkResult.single();
-            Node newsNode = newsRecord.get("n").asNode();
-            NewsNode news = mapNewsNode(newsNode);
-            
-            // Get all entities connected to this news
-            String entityQuery = "MATCH (e:Entity)-[r:MENTIONED_IN]->(n:News {sourceId: $sourceId}) " +
-                                "RETURN e, r.count as mentionCount";
-            Result entityResult = session.run(entityQuery, Map.of("sourceId", newsId.toString()));
-            
-            List<EntityNode> entities = new ArrayList<>();
-            Map<String, EntityNode> entityMap = new HashMap<>();
-            
-            while (entityResult.hasNext()) {
-                Record record = entityResult.next();
-                Node entityNode = record.get("e").asNode();
-                int mentionCount = record.get("mentionCount").asInt();
-                
-                EntityNode entity = mapEntityNode(entityNode, mentionCount);
-                entities.add(entity);
-                entityMap.put(entity.getId(), entity);
-            }
-            
-            // Get all relationships between these entities
-            String relationshipQuery = 
-                "MATCH (n:News {sourceId: $sourceId}) " +
-                "MATCH (e1:Entity)-[:MENTIONED_IN]->(n) " +
-                "MATCH (e2:Entity)-[:MENTIONED_IN]->(n) " +
-                "MATCH (e1)-[r]->(e2) " +
-                "WHERE type(r) <> 'MENTIONED_IN' " +
-                "RETURN e1.id as sourceId, e2.id as targetId, type(r) as type, " +
-                "r.type as originalType, r.confidence as confidence";
-            
-            Result relationshipResult = session.run(relationshipQuery, Map.of("sourceId", newsId.toString()));
-            
-            List<EntityRelationship> relationships = new ArrayList<>();
-            Set<String> relationshipSet = new HashSet<>(); // To avoid duplicates
-            
-            while (relationshipResult.hasNext()) {
-                Record record = relationshipResult.next();
-                String sourceId = record.get("sourceId").asString();
-                String targetId = record.get("targetId").asString();
-                String type = record.get("type").asString();
-                String originalType = record.get("originalType").asString();
-                double confidence = record.get("confidence").asDouble();
-                
-                // Create a unique key to avoid duplicate relationships
-                String relationshipKey = sourceId + "|" + type + "|" + targetId;
-                if (!relationshipSet.contains(relationshipKey)) {
-                    EntityRelationship relationship = new EntityRelationship();
-                    relationship.setSourceId(sourceId);
-                    relationship.setTargetId(targetId);
-                    relationship.setType(type);
-                    relationship.setOriginalType(originalType);
-                    relationship.setConfidence(confidence);
-                    
-                    relationships.add(relationship);
-                    relationshipSet.add(relationshipKey);
-                }
-            }
-            
-            return new NewsGraph(news, entities, relationships);
+
+            Record record = records.get(0);
+            NewsNode news = mapNewsNode(record.get("n").asNode());
+            List<EntityNode> entities = record.get("entities").asList(
+                row -> mapEntityNode(row.get("entity").asNode(), row.get("mentionCount").asInt()));
+            List<EntityRelationship> relationships = record.get("relationships").asList(GraphService::mapRelationship);
+
+            NewsGraph graph = new NewsGraph(news, entities, relationships);
+            graph.setTotalEntities(record.get("totalEntities").asInt());
+            return graph;
         } catch (Exception e) {
             logger.error("Error retrieving news graph from Neo4j", e);
             throw e;
         }
     }
-    
-    private NewsNode mapNewsNode(Node node) {
+
+    private Optional<NewsGraph> readDocument(Long newsId) {
+        return newsGraphDocumentRepository.findByNewsIdAndFormatVersion(newsId, NewsGraphDocument.FORMAT_VERSION)
+            .flatMap(document -> {
+                try {
+                    return Optional.of(objectMapper.readValue(document.getGraph(), NewsGraph.class));
+                } catch (JsonProcessingException e) {
+                    logger.warn("Unreadable graph document of news {}, querying Neo4j: {}", newsId, e.getMessage());
+                    return Optional.empty();
+                }
+            });
+    }
+
+    /**
+     * Applies the query's cuts to a whole article graph: the first
+     * {@code maxEntities} entities (documents keep them ranked by mentions)
+     * and the relationships between them with enough confidence
+     */
+    static NewsGraph trim(NewsGraph graph, Integer maxEntities, double minConfidence) {
+        List<EntityNode> entities = graph.getEntities();
+        if (maxEntities != null && maxEntities < entities.size()) {
+            entities = new ArrayList<>(entities.subList(0, maxEntities));
+        }
+        Set<String> kept = entities.stream().map(EntityNode::getId).collect(Collectors.toSet());
+        List<EntityRelationship> relationships = graph.getRelationships().stream()
+            .filter(relationship -> relationship.getConfidence() >= minConfidence
+                && kept.contains(relationship.getSourceId())
+                && kept.contains(relationship.getTargetId()))
+            .collect(Collectors.toList());
+
+        NewsGraph trimmed = new NewsGraph(graph.getNews(), entities, relationships);
+        trimmed.setTotalEntities(graph.getTotalEntities());
+        return trimmed;
+    }
+
+    /**
+     * Entities mentioned in the news published in {@code [from, to)}, ranked by
+     * mentions, and the relationships among them asserted by those news. The
+     * window is answered by a range seek on the News.createdAt index; when it
+     * holds more than {@code graph.window.max-news} articles only the newest
+     * are read and the graph is flagged as truncated.
+     */
+    public TimeWindowGraph getWindowGraph(LocalDateTime from, LocalDateTime to, int limit) {
+        try (Session session = neo4jDriver.session()) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("from", from);
+            parameters.put("to", to);
+            parameters.put("limit", limit);
+            parameters.put("maxNews", windowMaxNews);
+
+            Record record = session.executeRead(tx -> tx.run(WINDOW_GRAPH, parameters).single());
+
+            List<EntityNode> entities = record.get("entities").asList(entity ->
+                mapEntityNode(entity.get("entity").asNode(), entity.get("mentionCount").asInt()));
+            List<EntityRelationship> relationships = record.get("relationships").asList(GraphService::mapRelationship);
+
+            TimeWindowGraph graph = new TimeWindowGraph(from, to, record.get("newsCount").asInt(), entities, relationships);
+            graph.setTruncated(record.get("truncated").asBoolean());
+            return graph;
+        } catch (Exception e) {
+            logger.error("Error retrieving time window graph from Neo4j", e);
+            throw e;
+        }
+    }
+
+    static NewsNode mapNewsNode(Node node) {
         NewsNode newsNode = new NewsNode();
         newsNode.setId(node.get("id").asString());
         newsNode.setTitle(node.get("title").asString());
-        newsNode.setText(node.get("text").asString());
-        newsNode.setSourceId(Long.parseLong(node.get("sourceId").asString()));
-        newsNode.setCreatedAt(node.get("createdAt").asString());
+        newsNode.setSourceId(node.get("sourceId").asLong());
+        newsNode.setCreatedAt(node.get("createdAt").asLocalDateTime().toString());
         return newsNode;
     }
+
+    static EntityRelationship mapRelationship(MapAccessor record) {
+        EntityRelationship relationship = new EntityRelationship();
+        relationship.setSourceId(record.get("sourceId").asString());
+        relationship.setTargetId(record.get("targetId").asString());
+        relationship.setType(record.get("type").asString());
+        relationship.setOriginalType(record.get("originalType").asString());
+        relationship.setConfidence(record.get("confidence").asDouble());
+        relationship.setMaxConfidence(record.get("maxConfidence").asDouble());
+        relationship.setSupport(record.get("support").asInt());
+        relationship.setRawRelations(record.get("rawRelations").asList(value -> value.asString()));
+        return relationship;
+    }
     
-    private EntityNode mapEntityNode(Node node, int mentionCount) {
+    static EntityNode mapEntityNode(Node node, int mentionCount) {
         EntityNode entityNode = new EntityNode();
         entityNode.setId(node.get("id").asString());
         entityNode.setName(node.get("name").asString());
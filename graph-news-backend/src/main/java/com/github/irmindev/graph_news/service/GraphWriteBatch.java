@@ -0,0 +1,277 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.neo4j.driver.Query;
+
+import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.nlp.Entity;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.nlp.Relationship;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.utils.EntityIndex;
+
+/**
+ * The statements that write one article to the graph: the News node, one
+ * UNWIND over entities whose id is already known (MENTIONED_IN only), one
+ * UNWIND that upserts the rest by normalized key, and one UNWIND per
+ * relationship type, since Cypher can't take a relationship type as a
+ * parameter. Relationship endpoints are resolved to entity keys here, before
+ * anything is sent.
+ *
+ * There is one edge per (source, type, target) across all articles. It
+ * aggregates the support (number of asserting articles), the average and max
+ * confidence, the ids of the latest {@value #MAX_SUPPORTING_NEWS} supporting
+ * articles (shown as evidence only) and the raw relations ("was acquired by",
+ * "spoke with") that were mapped onto its type.
+ *
+ * Which edges an article asserted is recorded exactly on the source entity's
+ * MENTIONED_IN edge to the article, as {@code assertions} entries
+ * {@code "<type>|<target id>"}, with the confidence the article gave each one
+ * at the same index of {@code assertionConfidences}. Per-article queries,
+ * deletions and rewrites of the same article go through those lists, never
+ * through the capped ids, and a deletion takes back exactly the article's
+ * confidence.
+ *
+ * Types come from the bounded relation vocabulary, so there is a fixed set of
+ * relationship statements and Neo4j reuses their cached plans.
+ */
+public final class GraphWriteBatch {
+    // Keyed on the unique sourceId, so writing an article again (outbox retries) reuses its node and edges
+    private static final String MERGE_NEWS =
+        "MERGE (n:News {sourceId: $sourceId}) " +
+        "ON CREATE SET n.id = $id, n.title = $title, n.authorId = $authorId, n.createdAt = $createdAt";
+
+    private static final String MENTION_KNOWN_ENTITIES =
+        "MATCH (n:News {sourceId: $sourceId}) " +
+        "UNWIND $entities AS ent " +
+        "MATCH (e:Entity {id: ent.id}) " +
+        "MERGE (e)-[m:MENTIONED_IN]->(n) SET m.count = ent.count " +
+        "RETURN ent.key AS key";
+
+    private static final String UPSERT_ENTITIES =
+        "MATCH (n:News {sourceId: $sourceId}) " +
+        "UNWIND $entities AS ent " +
+        "MERGE (e:Entity {key: ent.key}) " +
+        "ON CREATE SET e.id = randomUUID(), e.name = ent.name, e.type = ent.type " +
+        "MERGE (e)-[m:MENTIONED_IN]->(n) SET m.count = ent.count " +
+        "RETURN ent.key AS key, e.id AS id";
+
+    public static final int MAX_SUPPORTING_NEWS = 500;
+    public static final int MAX_RAW_RELATIONS = 20;
+
+    // Taking the write lock (SET) before reading the aggregates keeps concurrent updates from being lost
+    static final String AGGREGATE_RELATIONSHIP =
+        "MERGE (source)-[r:`%s`]->(target) " +
+        "ON CREATE SET r.type = rel.originalType, r.support = 0, r.confidenceSum = 0.0, " +
+        "r.maxConfidence = 0.0, r.newsIds = [], r.rawRelations = [] " +
+        "SET r._lock = true REMOVE r._lock " +
+        // Recorded on the article's own mention, so writing the article again doesn't count it twice
+        "WITH source, target, r, rel " +
+        "MATCH (source)-[m:MENTIONED_IN]->(:News {sourceId: $sourceId}) " +
+        "WITH r, rel, m, type(r) + '|' + target.id AS assertion " +
+        "WHERE NOT assertion IN coalesce(m.assertions, []) " +
+        "SET m.assertions = coalesce(m.assertions, []) + assertion, " +
+        "m.assertionConfidences = coalesce(m.assertionConfidences, []) + rel.confidence " +
+        "WITH r, rel, r.support + 1 AS support, r.confidenceSum + rel.confidence AS confidenceSum " +
+        "SET r.support = support, r.confidenceSum = confidenceSum, r.confidence = confidenceSum / support, " +
+        "r.maxConfidence = CASE WHEN rel.confidence > r.maxConfidence THEN rel.confidence ELSE r.maxConfidence END, " +
+        "r.newsIds = (r.newsIds + $sourceId)[-" + MAX_SUPPORTING_NEWS + "..], " +
+        "r.rawRelations = CASE WHEN rel.originalType IN coalesce(r.rawRelations, []) THEN r.rawRelations " +
+        "ELSE (coalesce(r.rawRelations, []) + rel.originalType)[-" + MAX_RAW_RELATIONS + "..] END";
+
+    private static final Map<String, String> RELATIONSHIP_STATEMENTS = new ConcurrentHashMap<>();
+
+    private static final String MERGE_RELATIONSHIPS =
+        "UNWIND $rels AS rel " +
+        "MATCH (source:Entity {id: rel.sourceId}) " +
+        "MATCH (target:Entity {id: rel.targetId}) " +
+        AGGREGATE_RELATIONSHIP;
+
+    private record EntityRow(String key, String name, String type, int count) {
+    }
+
+    private record RelationshipRow(String sourceKey, String targetKey, String originalType, double confidence) {
+    }
+
+    private final long sourceId;
+    private final Map<String, Object> newsParams;
+    private final Map<String, EntityRow> entities;
+    private final Map<String, Map<String, RelationshipRow>> relationshipsByType;
+    private final int relationshipCount;
+
+    private GraphWriteBatch(long sourceId, Map<String, Object> newsParams, Map<String, EntityRow> entities,
+                            Map<String, Map<String, RelationshipRow>> relationshipsByType, int relationshipCount) {
+        this.sourceId = sourceId;
+        this.newsParams = newsParams;
+        this.entities = entities;
+        this.relationshipsByType = relationshipsByType;
+        this.relationshipCount = relationshipCount;
+    }
+
+    public static GraphWriteBatch of(NewsProcessingResult processingResult, NewsDTO newsDto, ExtractionTrace trace) {
+        Map<String, Object> newsParams = new HashMap<>();
+        // Only used if the article isn't in the graph yet
+        newsParams.put("id", UUID.randomUUID().toString());
+        newsParams.put("title", newsDto.getTitle());
+        // Native integer and local datetime values, so range indexes can seek on them
+        newsParams.put("sourceId", newsDto.getId());
+        newsParams.put("authorId", newsDto.getAuthor().getId());
+        newsParams.put("createdAt", newsDto.getCreatedAt());
+
+        // Names that only differ in case share a key, and their mentions are added up
+        Map<String, EntityRow> entities = new LinkedHashMap<>();
+        Map<String, String> keysByName = new HashMap<>();
+        EntityIndex<String> entityIndex = new EntityIndex<>();
+        for (Entity entity : processingResult.getEntities()) {
+            String key = EntityIdCache.key(entity.getName(), entity.getType());
+            entities.merge(key, new EntityRow(key, entity.getName(), entity.getType(), entity.getMentionCount()),
+                (a, b) -> new EntityRow(key, a.name(), a.type(), a.count() + b.count()));
+            keysByName.putIfAbsent(entity.getName(), key);
+            entityIndex.add(entity.getName(), key);
+        }
+
+        // Grouped by normalized type in first-seen order, one row per edge with its best confidence
+        Map<String, Map<String, RelationshipRow>> relationshipsByType = new LinkedHashMap<>();
+        int relationshipCount = 0;
+        for (Relationship relationship : processingResult.getRelationships()) {
+            String sourceKey = resolve(keysByName, entityIndex, relationship.getSourceEntity(), trace);
+            String targetKey = resolve(keysByName, entityIndex, relationship.getTargetEntity(), trace);
+            String relType = relationshipType(relationship.getType());
+
+            if (sourceKey == null || targetKey == null || relType.isEmpty()) {
+                if (trace.isEnabled()) {
+                    trace.record("graph", "Skipped {} -[{}]-> {}: entity not found",
+                        relationship.getSourceEntity(), relationship.getType(), relationship.getTargetEntity());
+                }
+                continue;
+            }
+
+            String rawRelation = relationship.getRawRelation() != null ? relationship.getRawRelation() : relationship.getType();
+            RelationshipRow row = new RelationshipRow(sourceKey, targetKey, rawRelation, relationship.getConfidence());
+            relationshipsByType.computeIfAbsent(relType, k -> new LinkedHashMap<>())
+                .merge(sourceKey + "|" + targetKey, row, (a, b) -> a.confidence() >= b.confidence() ? a : b);
+            relationshipCount++;
+
+            if (trace.isEnabled()) {
+                trace.record("graph", "Batched {} -[{}]-> {} (original type {})",
+                    relationship.getSourceEntity(), relType, relationship.getTargetEntity(), relationship.getType());
+            }
+        }
+
+        return new GraphWriteBatch(newsDto.getId(), newsParams, entities,
+            relationshipsByType, relationshipCount);
+    }
+
+    /**
+     * Same normalization as the per-statement writer, restricted to characters
+     * that are safe inside a backtick-quoted identifier.
+     */
+    static String relationshipType(String type) {
+        if (type == null) {
+            return "";
+        }
+        return type.toUpperCase()
+            .replaceAll("\\s+", "_")
+            .replaceAll(":", "_")
+            .replaceAll("[^\\p{L}\\p{N}_]", "");
+    }
+
+    private static String resolve(Map<String, String> keysByName, EntityIndex<String> entityIndex,
+                                  String name, ExtractionTrace trace) {
+        String key = keysByName.get(name);
+        if (key != null) {
+            return key;
+        }
+        // Names that differ in case, or where one name is part of the other
+        key = entityIndex.findExact(name);
+        if (key == null) {
+            key = entityIndex.findContaining(name);
+        }
+        if (key == null) {
+            key = entityIndex.findContainedIn(name);
+        }
+        if (trace.isEnabled()) {
+            trace.record("graph", "No entity named '{}', partial match {}", name, key != null ? "found" : "not found");
+        }
+        return key;
+    }
+
+    public Query newsStatement() {
+        return new Query(MERGE_NEWS, newsParams);
+    }
+
+    /**
+     * Connects entities whose node id is already known; returns the keys that matched a node
+     */
+    public Query mentionStatement(Map<String, String> idsByKey) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        idsByKey.forEach((key, id) -> rows.add(Map.of("key", key, "id", id, "count", entities.get(key).count())));
+        return new Query(MENTION_KNOWN_ENTITIES, Map.of("sourceId", sourceId, "entities", rows));
+    }
+
+    /**
+     * Creates or matches entities by key and connects them; returns key and id of each
+     */
+    public Query upsertStatement(Collection<String> keys) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String key : keys) {
+            EntityRow entity = entities.get(key);
+            rows.add(Map.of("key", key, "name", entity.name(), "type", entity.type(), "count", entity.count()));
+        }
+        return new Query(UPSERT_ENTITIES, Map.of("sourceId", sourceId, "entities", rows));
+    }
+
+    public List<Query> relationshipStatements(Map<String, String> idsByKey) {
+        List<Query> statements = new ArrayList<>();
+        for (Map.Entry<String, Map<String, RelationshipRow>> entry : relationshipsByType.entrySet()) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (RelationshipRow relationship : entry.getValue().values()) {
+                String sourceId = idsByKey.get(relationship.sourceKey());
+                String targetId = idsByKey.get(relationship.targetKey());
+                if (sourceId == null || targetId == null) continue;
+
+                Map<String, Object> row = new HashMap<>();
+                row.put("sourceId", sourceId);
+                row.put("targetId", targetId);
+                row.put("originalType", relationship.originalType());
+                row.put("confidence", relationship.confidence());
+                rows.add(row);
+            }
+            if (!rows.isEmpty()) {
+                String statement = RELATIONSHIP_STATEMENTS.computeIfAbsent(entry.getKey(),
+                    type -> String.format(MERGE_RELATIONSHIPS, type));
+                statements.add(new Query(statement, Map.of("rels", rows, "sourceId", this.sourceId)));
+            }
+        }
+        return statements;
+    }
+
+    public long getSourceId() {
+        return sourceId;
+    }
+
+    public Set<String> getEntityKeys() {
+        return entities.keySet();
+    }
+
+    public int getEntityCount() {
+        return entities.size();
+    }
+
+    public int getRelationshipCount() {
+        return relationshipCount;
+    }
+
+    public int getRelationshipTypeCount() {
+        return relationshipsByType.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.exception.news.IngestionRejectedException;
+import com.github.irmindev.graph_news.model.job.IngestionJob;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the NLP/graph stage of uploads on a bounded worker pool and keeps the
+ * most recent jobs in memory so their progress can be polled.
+ */
+@Service
+public class IngestionJobService {
+    private static final Logger logger = LoggerFactory.getLogger(IngestionJobService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> jobOrder = new ConcurrentLinkedQueue<>();
+    private final int maxRetainedJobs;
+
+    @Autowired
+    public IngestionJobService(
+        @Value("${ingestion.async.threads:2}") int threads,
+        @Value("${ingestion.async.queue-capacity:100}") int queueCapacity,
+        @Value("${ingestion.jobs.max-retained:1000}") int maxRetainedJobs,
+        IngestionMetrics ingestionMetrics
+    ) {
+        this.maxRetainedJobs = maxRetainedJobs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "ingestion-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        ingestionMetrics.registerJobQueue(executor);
+    }
+
+    /**
+     * Registers a job for the given article and queues the work. The work moves
+     * the job through its states; any exception it throws marks the job as failed.
+     * The article is null when the work saves it and attaches it to the job.
+     *
+     * @throws IngestionRejectedException if the ingestion queue is full
+     */
+    public IngestionJob submit(Long newsId, Consumer<IngestionJob> work) {
+        IngestionJob job = new IngestionJob(newsId);
+        register(job);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    work.accept(job);
+                } catch (Exception e) {
+                    logger.error("Ingestion job {} for news {} failed: {}", job.getId(), job.getNewsId(), e.getMessage(), e);
+                    job.fail(e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            job.fail("Ingestion queue is full");
+            throw new IngestionRejectedException("Ingestion queue is full, try again later");
+        }
+
+        return job;
+    }
+
+    public Optional<IngestionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    private void register(IngestionJob job) {
+        jobs.put(job.getId(), job);
+        jobOrder.add(job.getId());
+
+        // Forget the oldest finished jobs once we go over the retention limit
+        Iterator<String> it = jobOrder.iterator();
+        while (jobs.size() > maxRetainedJobs && it.hasNext()) {
+            String id = it.next();
+            IngestionJob candidate = jobs.get(id);
+            if (candidate == null || candidate.getState().isFinished()) {
+                jobs.remove(id);
+                it.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
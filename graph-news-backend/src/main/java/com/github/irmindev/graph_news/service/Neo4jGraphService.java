@@ -1,6 +1,7 @@
 package com.github.irmindev.graph_news.service;
 
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.TransactionContext;
 import org.neo4j.driver.Result;
@@ -8,44 +9,173 @@ import org.neo4j.driver.Record;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.github.irmindev.graph_news.model.dto.NewsDTO;
+import com.github.irmindev.graph_news.model.enums.GraphWriteMode;
+import com.github.irmindev.graph_news.model.graph.GraphCleanupReport;
 import com.github.irmindev.graph_news.model.nlp.Entity;
 import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
 import com.github.irmindev.graph_news.model.nlp.Relationship;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
+import com.github.irmindev.graph_news.utils.EntityIndex;
 
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class Neo4jGraphService {
     private final Driver neo4jDriver;
+    private final EntityIdCache entityIdCache;
+    private final NewsGraphCache newsGraphCache;
+    private final GraphWriteMode writeMode;
     private final Logger logger = LoggerFactory.getLogger(Neo4jGraphService.class);
 
     @Autowired
-    public Neo4jGraphService(Driver neo4jDriver) {
+    public Neo4jGraphService(Driver neo4jDriver, EntityIdCache entityIdCache, NewsGraphCache newsGraphCache,
+                             @Value("${graph.write.mode:BATCHED}") GraphWriteMode writeMode) {
         this.neo4jDriver = neo4jDriver;
+        this.entityIdCache = entityIdCache;
+        this.newsGraphCache = newsGraphCache;
+        this.writeMode = writeMode;
+    }
+
+    public GraphWriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public Map<String, Object> getEntityCacheStats() {
+        return entityIdCache.getStats();
+    }
+
+    public void clearEntityCache() {
+        entityIdCache.invalidateAll();
     }
 
     public void storeProcessedNews(NewsProcessingResult processingResult, NewsDTO newsDto) {
+        storeProcessedNews(processingResult, newsDto, ExtractionTrace.NOOP);
+    }
+
+    public void storeProcessedNews(NewsProcessingResult processingResult, NewsDTO newsDto, ExtractionTrace trace) {
+        try {
+            write(processingResult, newsDto, trace);
+        } catch (Exception e) {
+            logger.error("Error storing processed news in Neo4j", e);
+        }
+    }
+
+    /**
+     * Writes one article in its own transaction with the configured write
+     * mode. Unlike {@link #storeProcessedNews}, failures are thrown.
+     */
+    public void write(NewsProcessingResult processingResult, NewsDTO newsDto, ExtractionTrace trace) {
+        if (writeMode == GraphWriteMode.LEGACY) {
+            storeProcessedNewsPerStatement(processingResult, newsDto, trace);
+            return;
+        }
+
+        GraphWriteBatch batch = GraphWriteBatch.of(processingResult, newsDto, trace);
+        writeBatches(List.of(batch));
+
+        if (trace.isEnabled()) {
+            trace.record("graph", "Wrote {} entities and {} relationships ({} relationship types)",
+                batch.getEntityCount(), batch.getRelationshipCount(), batch.getRelationshipTypeCount());
+        }
+        logger.info("Successfully stored processed news in Neo4j: {}", newsDto.getTitle());
+    }
+
+    /**
+     * Writes the given articles in a single transaction. Unlike
+     * {@link #storeProcessedNews}, failures are thrown so the caller can retry
+     * the articles separately.
+     */
+    public void writeBatches(List<GraphWriteBatch> batches) {
+        try (Session session = neo4jDriver.session()) {
+            Map<String, String> entityIds = session.executeWrite(tx -> {
+                Map<String, String> ids = new HashMap<>();
+                for (GraphWriteBatch batch : batches) {
+                    ids.putAll(writeArticle(tx, batch));
+                }
+                return ids;
+            });
+            // Only ids of committed nodes are cached
+            entityIdCache.putAll(entityIds);
+            newsGraphCache.invalidateAll(batches.stream().map(GraphWriteBatch::getSourceId).toList());
+        }
+    }
+
+    private Map<String, String> writeArticle(TransactionContext tx, GraphWriteBatch batch) {
+        tx.run(batch.newsStatement()).consume();
+
+        Map<String, String> ids = new HashMap<>();
+        Map<String, String> cached = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String key : batch.getEntityKeys()) {
+            String id = entityIdCache.get(key);
+            if (id != null) {
+                cached.put(key, id);
+            } else {
+                unknown.add(key);
+            }
+        }
+
+        if (!cached.isEmpty()) {
+            Set<String> matched = new HashSet<>(tx.run(batch.mentionStatement(cached))
+                .list(record -> record.get("key").asString()));
+            cached.forEach((key, id) -> {
+                if (matched.contains(key)) {
+                    ids.put(key, id);
+                } else {
+                    // The node was merged or deleted since it was cached
+                    entityIdCache.invalidate(key);
+                    unknown.add(key);
+                }
+            });
+        }
+        if (!unknown.isEmpty()) {
+            tx.run(batch.upsertStatement(unknown))
+                .forEachRemaining(record -> ids.put(record.get("key").asString(), record.get("id").asString()));
+        }
+
+        for (Query statement : batch.relationshipStatements(ids)) {
+            tx.run(statement).consume();
+        }
+        return ids;
+    }
+
+    // One statement per entity lookup, create, mention and relationship (graph.write.mode=LEGACY)
+    private void storeProcessedNewsPerStatement(NewsProcessingResult processingResult, NewsDTO newsDto, ExtractionTrace trace) {
         try (Session session = neo4jDriver.session()) {
-            session.executeWrite(tx -> {
+            Map<String, String> entityIds = session.executeWrite(tx -> {
                 // 1. Create a node for the News article
-                String newsUuid = UUID.randomUUID().toString();
-                createNewsNode(tx, newsUuid, newsDto, processingResult);
+                // The id of the existing node when the article was written before
+                String newsUuid = createNewsNode(tx, UUID.randomUUID().toString(), newsDto, processingResult);
                 
                 // 2. Create nodes for all entities
+                Map<String, String> idsByKey = new HashMap<>();
                 Map<String, String> entityUuids = new HashMap<>();
+                EntityIndex<String> entityIndex = new EntityIndex<>();
                 for (Entity entity : processingResult.getEntities()) {
-                    String entityUuid = createEntityNode(tx, entity);
-                    entityUuids.put(entity.getName(), entityUuid);
+                    String key = EntityIdCache.key(entity.getName(), entity.getType());
+                    String entityUuid = createEntityNode(tx, key, entity);
                     
                     // Connect entity to the news article
-                    connectEntityToNews(tx, entityUuid, newsUuid, entity.getMentionCount());
+                    if (!connectEntityToNews(tx, entityUuid, newsUuid, entity.getMentionCount())) {
+                        // Cached id of a node that was merged or deleted since
+                        entityIdCache.invalidate(key);
+                        entityUuid = createEntityNode(tx, key, entity);
+                        connectEntityToNews(tx, entityUuid, newsUuid, entity.getMentionCount());
+                    }
+                    idsByKey.put(key, entityUuid);
+                    entityUuids.put(entity.getName(), entityUuid);
+                    entityIndex.add(entity.getName(), entityUuid);
                 }
                 
                 // 3. Create relationships between entities
@@ -54,106 +184,87 @@ public class Neo4jGraphService {
                     String sourceUuid = entityUuids.get(relationship.getSourceEntity());
                     String targetUuid = entityUuids.get(relationship.getTargetEntity());
                     
-                    // Debug output to identify the issue
+                    // Try to find a partial match for names that differ from the entity names
                     if (sourceUuid == null) {
-                        System.out.println("WARNING: Could not find entity UUID for source: " + relationship.getSourceEntity());
-                        // Try to find a partial match
-                        for (Map.Entry<String, String> entry : entityUuids.entrySet()) {
-                            if (entry.getKey().toLowerCase().contains(relationship.getSourceEntity().toLowerCase()) ||
-                                relationship.getSourceEntity().toLowerCase().contains(entry.getKey().toLowerCase())) {
-                                sourceUuid = entry.getValue();
-                                System.out.println("  Found partial match: " + entry.getKey());
-                                break;
-                            }
-                        }
+                        sourceUuid = findPartialMatch(entityIndex, relationship.getSourceEntity(), trace);
                     }
                     
                     if (targetUuid == null) {
-                        System.out.println("WARNING: Could not find entity UUID for target: " + relationship.getTargetEntity());
-                        // Try to find a partial match
-                        for (Map.Entry<String, String> entry : entityUuids.entrySet()) {
-                            if (entry.getKey().toLowerCase().contains(relationship.getTargetEntity().toLowerCase()) ||
-                                relationship.getTargetEntity().toLowerCase().contains(entry.getKey().toLowerCase())) {
-                                targetUuid = entry.getValue();
-                                System.out.println("  Found partial match: " + entry.getKey());
-                                break;
-                            }
-                        }
+                        targetUuid = findPartialMatch(entityIndex, relationship.getTargetEntity(), trace);
                     }
                     
                     if (sourceUuid != null && targetUuid != null) {
-                        createRelationship(tx, sourceUuid, targetUuid, relationship);
+                        createRelationship(tx, sourceUuid, targetUuid, newsDto.getId(), relationship, trace);
+                    } else if (trace.isEnabled()) {
+                        trace.record("graph", "Skipped {} -[{}]-> {}: entity not found",
+                            relationship.getSourceEntity(), relationship.getType(), relationship.getTargetEntity());
                     }
                 }
                 
-                return null;
+                return idsByKey;
             });
+            entityIdCache.putAll(entityIds);
+            newsGraphCache.invalidate(newsDto.getId());
             
             logger.info("Successfully stored processed news in Neo4j: {}", newsDto.getTitle());
-        } catch (Exception e) {
-            logger.error("Error storing processed news in Neo4j", e);
         }
     }
     
+    // Matches names that differ in case, or where one name is part of the other
+    private String findPartialMatch(EntityIndex<String> entityIndex, String name, ExtractionTrace trace) {
+        String uuid = entityIndex.findExact(name);
+        if (uuid == null) {
+            uuid = entityIndex.findContaining(name);
+        }
+        if (uuid == null) {
+            uuid = entityIndex.findContainedIn(name);
+        }
+        if (trace.isEnabled()) {
+            trace.record("graph", "No entity named '{}', partial match {}", name, uuid != null ? "found" : "not found");
+        }
+        return uuid;
+    }
+    
     private String createNewsNode(TransactionContext tx, String newsUuid, NewsDTO newsDto, NewsProcessingResult processingResult) {
-        String query = "CREATE (n:News {" +
-                       "id: $id, " +
-                       "title: $title, " +
-                       "text: $text, " +
-                       "sourceId: $sourceId, " +
-                       "authorId: $authorId, " +
-                       "createdAt: $createdAt" +
-                       "}) RETURN n.id";
+        String query = "MERGE (n:News {sourceId: $sourceId}) " +
+                       "ON CREATE SET n.id = $id, n.title = $title, n.authorId = $authorId, n.createdAt = $createdAt " +
+                       "RETURN n.id";
                        
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("id", newsUuid);
         parameters.put("title", newsDto.getTitle());
-        parameters.put("text", processingResult.getText());
-        parameters.put("sourceId", newsDto.getId().toString());
-        parameters.put("authorId", newsDto.getAuthor().getId().toString());
-        parameters.put("createdAt", newsDto.getCreatedAt().toString());
+        parameters.put("sourceId", newsDto.getId());
+        parameters.put("authorId", newsDto.getAuthor().getId());
+        parameters.put("createdAt", newsDto.getCreatedAt());
         
         Result result = tx.run(query, parameters);
         return result.single().get(0).asString();
     }
     
-    private String createEntityNode(TransactionContext tx, Entity entity) {
-        // Check if entity already exists (by name and type)
-        String findQuery = "MATCH (e:Entity {name: $name, type: $type}) RETURN e.id";
-        Map<String, Object> findParams = new HashMap<>();
-        findParams.put("name", entity.getName());
-        findParams.put("type", entity.getType());
-        
-        try {
-            Result findResult = tx.run(findQuery, findParams);
-            if (findResult.hasNext()) {
-                // Entity exists, return its ID
-                return findResult.single().get(0).asString();
-            }
-        } catch (Exception e) {
-            // Continue to create a new entity
+    private String createEntityNode(TransactionContext tx, String key, Entity entity) {
+        String cachedId = entityIdCache.get(key);
+        if (cachedId != null) {
+            return cachedId;
         }
-        
-        // Create new entity
-        String entityUuid = UUID.randomUUID().toString();
-        String createQuery = "CREATE (e:Entity {" +
-                            "id: $id, " +
-                            "name: $name, " +
-                            "type: $type" +
-                            "}) RETURN e.id";
-                            
-        Map<String, Object> createParams = new HashMap<>();
-        createParams.put("id", entityUuid);
-        createParams.put("name", entity.getName());
-        createParams.put("type", entity.getType());
-        
-        Result createResult = tx.run(createQuery, createParams);
-        return createResult.single().get(0).asString();
+
+        // Atomic upsert on the unique key, so concurrent articles share one node
+        String upsertQuery = "MERGE (e:Entity {key: $key}) " +
+                             "ON CREATE SET e.id = $id, e.name = $name, e.type = $type " +
+                             "RETURN e.id";
+
+        Map<String, Object> upsertParams = new HashMap<>();
+        upsertParams.put("key", key);
+        upsertParams.put("id", UUID.randomUUID().toString());
+        upsertParams.put("name", entity.getName());
+        upsertParams.put("type", entity.getType());
+
+        Result upsertResult = tx.run(upsertQuery, upsertParams);
+        return upsertResult.single().get(0).asString();
     }
     
-    private void connectEntityToNews(TransactionContext tx, String entityUuid, String newsUuid, int mentionCount) {
+    private boolean connectEntityToNews(TransactionContext tx, String entityUuid, String newsUuid, int mentionCount) {
         String query = "MATCH (e:Entity {id: $entityId}), (n:News {id: $newsId}) " +
-                       "MERGE (e)-[r:MENTIONED_IN {count: $count}]->(n) " +
+                       "MERGE (e)-[r:MENTIONED_IN]->(n) SET r.count = $count " +
                        "RETURN r";
                        
         Map<String, Object> parameters = new HashMap<>();
@@ -161,36 +272,37 @@ public class Neo4jGraphService {
         parameters.put("newsId", newsUuid);
         parameters.put("count", mentionCount);
         
-        tx.run(query, parameters);
+        return tx.run(query, parameters).hasNext();
     }
     
-    private void createRelationship(TransactionContext tx, String sourceUuid, String targetUuid, Relationship relationship) {
+    private void createRelationship(TransactionContext tx, String sourceUuid, String targetUuid, Long sourceId,
+                                    Relationship relationship, ExtractionTrace trace) {
         // Create a normalized relationship type
-        String relType = relationship.getType()
-                     .toUpperCase()
-                     .replaceAll("\\s+", "_")
-                     .replaceAll(":", "_");
+        String relType = GraphWriteBatch.relationshipType(relationship.getType());
     
-        System.out.println("Creating relationship: " + relationship.getSourceEntity() + 
-                          " -[" + relType + "]-> " + relationship.getTargetEntity() + 
-                          " (Original type: " + relationship.getType() + ")");
-        
         try {
-            String query = "MATCH (source:Entity {id: $sourceId}), (target:Entity {id: $targetId}) " +
-                          "MERGE (source)-[r:" + relType + " {type: $originalType, confidence: $confidence}]->(target) " +
-                          "RETURN r";
+            String query = "MATCH (source:Entity {id: $sourceEntityId}), (target:Entity {id: $targetEntityId}) " +
+                          "WITH source, target, {originalType: $originalType, confidence: $confidence} AS rel " +
+                          String.format(GraphWriteBatch.AGGREGATE_RELATIONSHIP, relType);
                       
             Map<String, Object> parameters = new HashMap<>();
-            parameters.put("sourceId", sourceUuid);
-            parameters.put("targetId", targetUuid);
-            parameters.put("originalType", relationship.getType());
+            parameters.put("sourceEntityId", sourceUuid);
+            parameters.put("targetEntityId", targetUuid);
+            parameters.put("sourceId", sourceId);
+            parameters.put("originalType",
+                relationship.getRawRelation() != null ? relationship.getRawRelation() : relationship.getType());
             parameters.put("confidence", relationship.getConfidence());
             
             tx.run(query, parameters);
-            System.out.println("  Relationship created successfully");
+            if (trace.isEnabled()) {
+                trace.record("graph", "Created {} -[{}]-> {} (original type {})",
+                    relationship.getSourceEntity(), relType, relationship.getTargetEntity(), relationship.getType());
+            }
         } catch (Exception e) {
-            System.err.println("  ERROR creating relationship: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error creating relationship {} -[{}]-> {}: {}",
+                relationship.getSourceEntity(), relType, relationship.getTargetEntity(), e.getMessage());
+            trace.record("graph", "Failed {} -[{}]-> {}: {}",
+                relationship.getSourceEntity(), relType, relationship.getTargetEntity(), e.getMessage());
         }
     }
     
@@ -240,7 +352,95 @@ public class Neo4jGraphService {
         return stats;
     }
 
-    public List<String> findRelatedNewsIds(String sourceId, int limit) {
+    /**
+     * Removes the graph footprint of deleted articles in one transaction: their
+     * provenance on relationship edges (edges left without support are
+     * deleted), their News nodes and mentions, and the entities that no other
+     * article mentions.
+     */
+    public GraphCleanupReport deleteNewsGraphs(Collection<Long> sourceIds) {
+        if (sourceIds.isEmpty()) {
+            return GraphCleanupReport.EMPTY;
+        }
+
+        try (Session session = neo4jDriver.session()) {
+            GraphCleanupReport report = session.executeWrite(tx -> {
+                // Every edge the article asserted, found through its mentions rather than the capped newsIds,
+                // gives back exactly the confidence the article added
+                List<String> retracted = tx.run(
+                    "UNWIND $sourceIds AS sourceId " +
+                    "MATCH (:News {sourceId: sourceId})<-[m:MENTIONED_IN]-(source:Entity) " +
+                    "WHERE m.assertions IS NOT NULL " +
+                    "UNWIND range(0, size(m.assertions) - 1) AS i " +
+                    "WITH sourceId, source, split(m.assertions[i], '|') AS asserted, " +
+                    "coalesce(m.assertionConfidences[i], 0.0) AS confidence " +
+                    "MATCH (target:Entity {id: asserted[1]}) " +
+                    "MATCH (source)-[r]->(target) WHERE type(r) = asserted[0] " +
+                    "SET r._lock = true REMOVE r._lock " +
+                    "WITH sourceId, confidence, r " +
+                    "SET r.newsIds = [id IN r.newsIds WHERE id <> sourceId], " +
+                    "r.support = r.support - 1, r.confidenceSum = r.confidenceSum - confidence " +
+                    "RETURN DISTINCT elementId(r) AS edgeId",
+                    Map.of("sourceIds", sourceIds)).list(record -> record.get("edgeId").asString());
+
+                List<Record> deletedNews = tx.run(
+                    "UNWIND $sourceIds AS sourceId " +
+                    "MATCH (n:News {sourceId: sourceId}) " +
+                    "OPTIONAL MATCH (n)<-[:MENTIONED_IN]-(e:Entity) " +
+                    "WITH n, collect(e.id) AS entityIds " +
+                    "DETACH DELETE n " +
+                    "RETURN entityIds, size(entityIds) AS mentions",
+                    Map.of("sourceIds", sourceIds)).list();
+
+                // With the articles gone, the average and max come from the assertions left on the other mentions
+                long unsupported = tx.run(
+                    "UNWIND $edgeIds AS edgeId " +
+                    "MATCH (source:Entity)-[r]->(target:Entity) WHERE elementId(r) = edgeId " +
+                    "WITH source, r, type(r) + '|' + target.id AS assertion " +
+                    "OPTIONAL MATCH (source)-[m:MENTIONED_IN]->(:News) WHERE assertion IN coalesce(m.assertions, []) " +
+                    "WITH r, max([i IN range(0, size(coalesce(m.assertions, [])) - 1) " +
+                    "  WHERE m.assertions[i] = assertion | m.assertionConfidences[i]][0]) AS maxConfidence " +
+                    "SET r.confidence = CASE WHEN r.support > 0 THEN r.confidenceSum / r.support ELSE 0.0 END, " +
+                    "r.maxConfidence = coalesce(maxConfidence, r.confidence) " +
+                    "WITH r WHERE r.support <= 0 " +
+                    "DELETE r " +
+                    "RETURN count(*) AS edges",
+                    Map.of("edgeIds", retracted)).single().get("edges").asLong();
+
+                Set<String> mentioned = new HashSet<>();
+                long mentions = 0;
+                for (Record record : deletedNews) {
+                    mentioned.addAll(record.get("entityIds").asList(value -> value.asString()));
+                    mentions += record.get("mentions").asLong();
+                }
+
+                List<Record> orphans = tx.run(
+                    "MATCH (e:Entity) WHERE e.id IN $entityIds AND NOT (e)-[:MENTIONED_IN]->() " +
+                    "OPTIONAL MATCH (e)-[r]-() " +
+                    "WITH e, e.id AS id, count(r) AS edges " +
+                    "DETACH DELETE e " +
+                    "RETURN id, edges",
+                    Map.of("entityIds", new ArrayList<>(mentioned))).list();
+
+                List<String> orphanIds = new ArrayList<>();
+                long orphanEdges = 0;
+                for (Record record : orphans) {
+                    orphanIds.add(record.get("id").asString());
+                    orphanEdges += record.get("edges").asLong();
+                }
+                entityIdCache.invalidateIds(orphanIds);
+
+                return new GraphCleanupReport(deletedNews.size(), orphanIds.size(), unsupported + mentions + orphanEdges);
+            });
+
+            newsGraphCache.invalidateAll(sourceIds);
+            logger.info("Deleted the graph of {} news: {} entity nodes and {} edges reclaimed",
+                report.newsNodes(), report.entityNodes(), report.edges());
+            return report;
+        }
+    }
+
+    public List<Long> findRelatedNewsIds(Long sourceId, int limit) {
         try (Session session = neo4jDriver.session()) {
             String query = 
                 "MATCH (source:News {sourceId: $sourceId}) " +
@@ -263,10 +463,10 @@ public class Neo4jGraphService {
             
             Result result = session.run(query, parameters);
             
-            List<String> relatedIds = new ArrayList<>();
+            List<Long> relatedIds = new ArrayList<>();
             while (result.hasNext()) {
                 Record record = result.next();
-                relatedIds.add(record.get("relatedId").asString());
+                relatedIds.add(record.get("relatedId").asLong());
             }
             
             return relatedIds;
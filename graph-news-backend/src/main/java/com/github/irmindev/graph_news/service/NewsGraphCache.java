@@ -0,0 +1,111 @@
+package com.github.irmindev.graph_news.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.graph.NewsGraph;
+import com.github.irmindev.graph_news.utils.LruCache;
+
+/**
+ * Bounded cache of per-article graph responses. An article's graph only
+ * changes when it is written or deleted, and both paths invalidate it here.
+ * The relationship aggregates in a cached response (support, confidence) can
+ * lag behind later articles until the entry is evicted or invalidated.
+ *
+ * The ETag of an entry is a digest of its JSON body, so a reload that
+ * produces the same response keeps the same tag.
+ */
+@Component
+public class NewsGraphCache {
+    public record Key(Long newsId, boolean includeText, Integer maxEntities, double minConfidence) {
+    }
+
+    public record Entry(NewsGraph graph, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final LruCache<Key, Entry> entries;
+    // Bumped on every invalidation; a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public NewsGraphCache(
+        @Value("${graph.news-cache.max-entries:1000}") int maxEntries,
+        ObjectMapper objectMapper,
+        IngestionMetrics ingestionMetrics
+    ) {
+        this.objectMapper = objectMapper;
+        this.entries = new LruCache<>(maxEntries);
+        ingestionMetrics.registerCache("news-graph", entries, LruCache::getHits, LruCache::getMisses);
+    }
+
+    /**
+     * The cached entry for the key, or the loaded graph, which is cached
+     * unless the article was invalidated while it loaded
+     */
+    public Entry get(Key key, Supplier<NewsGraph> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        NewsGraph graph = loader.get();
+        Entry loaded = new Entry(graph, etag(graph));
+        if (generation.get() == loadGeneration) {
+            entries.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long newsId) {
+        invalidateAll(Set.of(newsId));
+    }
+
+    public void invalidateAll(Collection<Long> newsIds) {
+        if (newsIds.isEmpty()) return;
+        generation.incrementAndGet();
+        Set<Long> removed = new HashSet<>(newsIds);
+        invalidations.addAndGet(entries.removeIf((key, entry) -> removed.contains(key.newsId())));
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = entries.getHits();
+        long total = hits + entries.getMisses();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", entries.getMaxEntries());
+        stats.put("hits", hits);
+        stats.put("misses", entries.getMisses());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hits / total);
+        stats.put("evictions", entries.getEvictions());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private String etag(NewsGraph graph) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(graph));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the graph ETag", e);
+        }
+    }
+}
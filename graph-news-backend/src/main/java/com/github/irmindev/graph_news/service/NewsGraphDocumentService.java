@@ -0,0 +1,211 @@
+package com.github.irmindev.graph_news.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.model.entity.NewsGraphDocument;
+import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
+import com.github.irmindev.graph_news.repository.NewsGraphDocumentRepository;
+import com.github.irmindev.graph_news.repository.NewsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes the graph documents that {@link GraphService} serves article graphs
+ * from. A document is a snapshot of the article's graph taken right after it
+ * is written to Neo4j: the article's own entities and relationships don't
+ * change afterwards, but the aggregates on its relationships (support,
+ * confidence) keep the values they had at that moment.
+ *
+ * Articles without a document are still served from Neo4j; the backfill
+ * writes the missing documents in batches of {@code backfill-batch-size}.
+ */
+@Service
+public class NewsGraphDocumentService {
+    private static final Logger logger = LoggerFactory.getLogger(NewsGraphDocumentService.class);
+
+    private final NewsGraphDocumentRepository documentRepository;
+    private final NewsRepository newsRepository;
+    private final GraphService graphService;
+    private final NewsGraphCache newsGraphCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillBatchSize;
+    private final ExecutorService backfillExecutor;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private final AtomicLong backfillWritten = new AtomicLong();
+    private final AtomicLong backfillSkipped = new AtomicLong();
+    private volatile Instant backfillStartedAt;
+    private volatile Instant backfillFinishedAt;
+
+    @Autowired
+    public NewsGraphDocumentService(
+        NewsGraphDocumentRepository documentRepository,
+        NewsRepository newsRepository,
+        GraphService graphService,
+        NewsGraphCache newsGraphCache,
+        ObjectMapper objectMapper,
+        TransactionTemplate transactionTemplate,
+        @Value("${graph.documents.backfill-batch-size:200}") int backfillBatchSize
+    ) {
+        this.documentRepository = documentRepository;
+        this.newsRepository = newsRepository;
+        this.graphService = graphService;
+        this.newsGraphCache = newsGraphCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillBatchSize = Math.max(1, backfillBatchSize);
+        this.backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graph-document-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stores the article's graph as it is in Neo4j now. Call it once the
+     * graph write committed. A failure is only logged: the article is read
+     * from Neo4j until the backfill writes its document. Nothing is written
+     * if the article was deleted meanwhile; a document saved while its
+     * article is being deleted is removed by {@link #deleteOrphans()}.
+     *
+     * @return whether the document was written
+     */
+    public boolean materialize(Long newsId) {
+        try {
+            String graph = objectMapper.writeValueAsString(graphService.queryNewsGraph(newsId));
+            boolean saved = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!newsRepository.existsById(newsId)) return false;
+                documentRepository.save(new NewsGraphDocument(newsId, graph, Instant.now()));
+                return true;
+            }));
+            if (!saved) {
+                logger.debug("News {} was deleted, no document written", newsId);
+                return false;
+            }
+            // Cached responses were built from the live aggregates, not from the snapshot
+            newsGraphCache.invalidate(newsId);
+            return true;
+        } catch (EntityNotFoundException e) {
+            logger.debug("News {} is not in the graph yet, no document written", newsId);
+            return false;
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Could not write the graph document of news {}: {}", newsId, e.getMessage());
+            return false;
+        }
+    }
+
+    public void materializeAll(Collection<Long> newsIds) {
+        for (Long newsId : newsIds) {
+            materialize(newsId);
+        }
+    }
+
+    /**
+     * Must run in the transaction that deletes the article
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(Long newsId) {
+        documentRepository.deleteByNewsId(newsId);
+    }
+
+    /**
+     * Deletes the documents whose article no longer exists
+     *
+     * @return the number of documents deleted
+     */
+    @Transactional
+    public int deleteOrphans() {
+        return documentRepository.deleteOrphans();
+    }
+
+    /**
+     * Starts writing the documents of every article that has none of the
+     * current format, in the background
+     *
+     * @return false if a backfill is already running
+     */
+    public boolean startBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) return false;
+        backfillWritten.set(0);
+        backfillSkipped.set(0);
+        backfillStartedAt = Instant.now();
+        backfillFinishedAt = null;
+        backfillExecutor.execute(this::backfill);
+        return true;
+    }
+
+    // Keyset pages over the news ids, so articles that can't be materialized aren't retried in a loop
+    private void backfill() {
+        try {
+            long after = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> newsIds = documentRepository.findNewsIdsWithoutDocument(
+                    after, NewsGraphDocument.FORMAT_VERSION, PageRequest.of(0, backfillBatchSize));
+                if (newsIds.isEmpty()) break;
+
+                for (Long newsId : newsIds) {
+                    if (materialize(newsId)) {
+                        backfillWritten.incrementAndGet();
+                    } else {
+                        backfillSkipped.incrementAndGet();
+                    }
+                }
+                after = newsIds.get(newsIds.size() - 1);
+            }
+            logger.info("Graph document backfill wrote {} documents, skipped {} articles",
+                backfillWritten.get(), backfillSkipped.get());
+        } catch (RuntimeException e) {
+            logger.error("Graph document backfill failed: {}", e.getMessage(), e);
+        } finally {
+            backfillFinishedAt = Instant.now();
+            backfillRunning.set(false);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("documents", documentRepository.countByFormatVersion(NewsGraphDocument.FORMAT_VERSION));
+        stats.put("formatVersion", NewsGraphDocument.FORMAT_VERSION);
+
+        Map<String, Object> backfill = new LinkedHashMap<>();
+        backfill.put("running", backfillRunning.get());
+        backfill.put("startedAt", backfillStartedAt);
+        backfill.put("finishedAt", backfillFinishedAt);
+        backfill.put("written", backfillWritten.get());
+        backfill.put("skipped", backfillSkipped.get());
+        stats.put("backfill", backfill);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+        try {
+            backfillExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
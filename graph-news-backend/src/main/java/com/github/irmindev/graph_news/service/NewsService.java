@@ -13,7 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
 
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -27,12 +27,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
 import com.github.irmindev.graph_news.model.dto.NewsDTO;
 import com.github.irmindev.graph_news.model.entity.News;
 import com.github.irmindev.graph_news.model.entity.User;
@@ -41,11 +43,18 @@ import com.github.irmindev.graph_news.model.exception.ResourceNotFoundException;
 import com.github.irmindev.graph_news.model.exception.UnallowedMethodException;
 import com.github.irmindev.graph_news.model.exception.news.FileIssueException;
 import com.github.irmindev.graph_news.model.exception.news.HTMLInvalidFormatException;
+import com.github.irmindev.graph_news.model.exception.news.IngestionRejectedException;
+import com.github.irmindev.graph_news.model.exception.nlp.NlpNotReadyException;
+import com.github.irmindev.graph_news.model.exception.nlp.PipelineUnavailableException;
+import com.github.irmindev.graph_news.model.job.IngestionJob;
 import com.github.irmindev.graph_news.model.mapper.NewsMapper;
 import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.trace.ExtractionTrace;
 import com.github.irmindev.graph_news.repository.NewsRepository;
 import com.github.irmindev.graph_news.repository.UserRepository;
 import com.github.irmindev.graph_news.utils.HTMLSanitizer;
+import com.github.irmindev.graph_news.model.enums.IngestionJobState;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
 import com.github.irmindev.graph_news.model.enums.Role;
 
 @Service
@@ -57,18 +66,82 @@ public class NewsService {
     private final UserRepository userRepository;
     private final StanfordNLPProcessor stanfordNLPProcessor;
     private final Neo4jGraphService neo4jGraphService;
+    private final GraphGroupCommitWriter graphWriter;
+    private final GraphOutboxService graphOutbox;
+    private final NewsGraphCache newsGraphCache;
+    private final NewsGraphDocumentService graphDocuments;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestionJobService ingestionJobService;
+    private final ExtractionTraceService extractionTraceService;
+    private final IngestionMetrics ingestionMetrics;
 
     @Autowired
     public NewsService(HTMLSanitizer htmlSanitizer, NewsRepository newsRepository, UserRepository userRepository,
-        StanfordNLPProcessor stanfordNLPProcessor, Neo4jGraphService neo4jGraphService) {
+        StanfordNLPProcessor stanfordNLPProcessor, Neo4jGraphService neo4jGraphService,
+        GraphGroupCommitWriter graphWriter, GraphOutboxService graphOutbox, NewsGraphCache newsGraphCache,
+        NewsGraphDocumentService graphDocuments, TransactionTemplate transactionTemplate,
+        IngestionJobService ingestionJobService, ExtractionTraceService extractionTraceService,
+        IngestionMetrics ingestionMetrics) {
         this.neo4jGraphService = neo4jGraphService;
+        this.graphWriter = graphWriter;
+        this.graphOutbox = graphOutbox;
+        this.newsGraphCache = newsGraphCache;
+        this.graphDocuments = graphDocuments;
+        this.transactionTemplate = transactionTemplate;
         this.stanfordNLPProcessor = stanfordNLPProcessor;
         this.htmlSanitizer = htmlSanitizer;
         this.newsRepository = newsRepository;
         this.userRepository = userRepository;
+        this.ingestionJobService = ingestionJobService;
+        this.extractionTraceService = extractionTraceService;
+        this.ingestionMetrics = ingestionMetrics;
     }
 
     public NewsDTO createFromUrl(String url, Long authorId) throws ResourceNotFoundException {
+        return createFromUrl(url, authorId, null);
+    }
+
+    public NewsDTO createFromUrl(String url, Long authorId, NlpProfile profile) throws ResourceNotFoundException {
+        return createFromUrl(url, authorId, profile, false);
+    }
+
+    public NewsDTO createFromUrl(String url, Long authorId, NlpProfile profile, boolean trace) throws ResourceNotFoundException {
+        stanfordNLPProcessor.requireReady();
+        NewsDTO fetched = fetchFromUrl(url);
+        try {
+            return createNews(fetched.getTitle(), fetched.getContent(), authorId, profile, trace);
+        } catch (PipelineUnavailableException | NlpNotReadyException e) {
+            // Answered with a 503 by their handlers
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error creating news from URL: {}", e.getMessage(), e);
+            throw new ResourceNotFoundException("Failed to fetch resource: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues the whole upload of a URL, page fetch included, so the request
+     * thread never waits on the browser. The article is saved once its page is
+     * fetched and only then attached to the job.
+     */
+    public IngestionJob submitFromUrl(String url, Long authorId, NlpProfile profile, boolean trace) throws EntityNotFoundException {
+        // Checked up front so an unknown author is still answered right away
+        if (!userRepository.existsById(authorId)) {
+            throw new EntityNotFoundException();
+        }
+        return ingestionJobService.submit(null, job -> {
+            job.transitionTo(IngestionJobState.FETCHING);
+            NewsDTO fetched = fetchFromUrl(url);
+            NewsDTO newsDTO = saveNews(fetched.getTitle(), fetched.getContent(), authorId, profile);
+            job.attachNews(newsDTO.getId());
+            processNews(newsDTO, profile, job, extractionTraceService.start(newsDTO.getId(), trace));
+        });
+    }
+
+    /**
+     * Renders the page with a headless browser and extracts its title and content
+     */
+    public NewsDTO fetchFromUrl(String url) throws ResourceNotFoundException {
         // Configure Chrome to run in headless mode
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--headless"); // Run in headless mode
@@ -82,7 +155,7 @@ public class NewsService {
         // Initialize the WebDriver
         WebDriver driver = new ChromeDriver(options);
 
-        try {
+        try (IngestionMetrics.Stage stage = ingestionMetrics.stage("fetch")) {
             // Navigate to the URL
             driver.get(url);
 
@@ -101,7 +174,7 @@ public class NewsService {
                 if (newsDTO == null) {
                     throw new ResourceNotFoundException("Failed to extract content from HTML");
                 }
-                return createNews(newsDTO.getTitle(), newsDTO.getContent(), authorId);
+                return newsDTO;
             } catch (HTMLInvalidFormatException e) {
                 throw new ResourceNotFoundException("Failed to extract content from HTML: " + e.getMessage());
             }
@@ -120,7 +193,25 @@ public class NewsService {
         }
     }
 
-    public NewsDTO createFromPdf(MultipartFile file, String title, Long authorId) throws FileIssueException{
+    /**
+     * Extracts the plain text of an uploaded file based on its extension
+     */
+    public String readContent(MultipartFile file, String fileExtension) throws FileIssueException {
+        try (IngestionMetrics.Stage stage = ingestionMetrics.stage("text-extraction")) {
+            switch (fileExtension) {
+                case "doc":
+                case "docx":
+                    return readDocx(file);
+                case "pdf":
+                    return readPdf(file);
+                default:
+                    // For txt files or any other file type not explicitly handled
+                    return readTxt(file);
+            }
+        }
+    }
+
+    private String readPdf(MultipartFile file) throws FileIssueException {
         File pdfFile = new File("file.tmp");
         try (OutputStream os = new FileOutputStream(pdfFile)){
             os.write(file.getBytes());
@@ -131,25 +222,23 @@ public class NewsService {
 
         try (PDDocument document = Loader.loadPDF(pdfFile)){
             PDFTextStripper stripper = new PDFTextStripper();
-            String content = stripper.getText(document);
-            return createNews(title, content, authorId);
+            return stripper.getText(document);
         } catch (IOException e) {
             e.printStackTrace();
             throw new FileIssueException(e.getMessage());
         }
     }
 
-    public NewsDTO createFromTxt(MultipartFile file, String title, Long authorId) throws FileIssueException{
+    private String readTxt(MultipartFile file) throws FileIssueException {
         try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-            return createNews(title, content, authorId);
+            return new String(file.getBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             e.printStackTrace();
             throw new FileIssueException(e.getMessage());
         }
     }
 
-    public NewsDTO createFromDocx(MultipartFile file, String title, Long authorId) throws FileIssueException{
+    private String readDocx(MultipartFile file) throws FileIssueException {
         File docxFile = new File("file.tmp");
         try (OutputStream os = new FileOutputStream(docxFile)){
             os.write(file.getBytes());
@@ -159,13 +248,12 @@ public class NewsService {
         }
 
         try (XWPFDocument document = new XWPFDocument(new FileInputStream(docxFile))){
-            String content = document.getParagraphs().stream().map(p -> p.getText()).reduce("", (a,b) -> {
+            return document.getParagraphs().stream().map(p -> p.getText()).reduce("", (a,b) -> {
                 StringBuilder sb = new StringBuilder(a);
                 sb.append("\n");
                 sb.append(b);
                 return sb.toString();
             });
-            return createNews(title, content, authorId);
         } catch (IOException e) {
             e.printStackTrace();
             throw new FileIssueException(e.getMessage());
@@ -173,18 +261,86 @@ public class NewsService {
     }
 
     public NewsDTO createNews(String title, String content, Long authorId) throws EntityNotFoundException{
+        return createNews(title, content, authorId, null);
+    }
+
+    /**
+     * Saves the article and processes it with the given NLP profile (the
+     * configured default when null) before returning.
+     */
+    public NewsDTO createNews(String title, String content, Long authorId, NlpProfile profile) throws EntityNotFoundException{
+        return createNews(title, content, authorId, profile, false);
+    }
+
+    /**
+     * Same as {@link #createNews(String, String, Long, NlpProfile)}, optionally
+     * recording an extraction trace that admins can fetch by news id.
+     */
+    public NewsDTO createNews(String title, String content, Long authorId, NlpProfile profile, boolean trace) throws EntityNotFoundException{
+        // Reject before saving anything while the models are still warming up
+        stanfordNLPProcessor.requireReady();
+        NewsDTO newsDTO = saveNews(title, content, authorId, profile);
+        
+        try {
+            processNews(newsDTO, profile, new IngestionJob(newsDTO.getId()),
+                extractionTraceService.start(newsDTO.getId(), trace));
+            return newsDTO;
+        } catch (PipelineUnavailableException | NlpNotReadyException e) {
+            // Answered with a 503 that the client retries, which would otherwise leave this copy for the relay to write
+            discardUpload(newsDTO.getId());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error saving news: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save news: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the article and queues its NLP and graph processing. The returned
+     * job can be polled through the jobs resource; it waits in the queue while
+     * the NLP models are still loading.
+     */
+    public IngestionJob submitNews(String title, String content, Long authorId, NlpProfile profile) throws EntityNotFoundException {
+        return submitNews(title, content, authorId, profile, false);
+    }
+
+    public IngestionJob submitNews(String title, String content, Long authorId, NlpProfile profile, boolean trace) throws EntityNotFoundException {
+        NewsDTO newsDTO = saveNews(title, content, authorId, profile);
+        ExtractionTrace extractionTrace = extractionTraceService.start(newsDTO.getId(), trace);
+        try {
+            return ingestionJobService.submit(newsDTO.getId(), job -> processNews(newsDTO, profile, job, extractionTrace));
+        } catch (IngestionRejectedException e) {
+            // The client is told to retry, so the article must not stay behind
+            discardUpload(newsDTO.getId());
+            throw e;
+        }
+    }
+
+    // Removes an article that was saved but rejected before its graph was written; its outbox row isn't due yet
+    private void discardUpload(Long newsId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            newsRepository.deleteById(newsId);
+            graphOutbox.delete(newsId);
+        });
+    }
+
+    public Optional<IngestionJob> getIngestionJob(String jobId) {
+        return ingestionJobService.getJob(jobId);
+    }
+
+    private NewsDTO saveNews(String title, String content, Long authorId, NlpProfile profile) throws EntityNotFoundException {
         Optional<User> author = userRepository.findById(authorId);
         if (author.isEmpty()) {
             throw new EntityNotFoundException();
         }
         
-        try {
-            News newDocument = new News(title, content, author.get());
-            News savedDocument = newsRepository.save(newDocument);
-            NewsDTO newsDTO = NewsMapper.toDto(savedDocument);
-            NewsProcessingResult processingResult = stanfordNLPProcessor.processNewsText(newsDTO.getContent(), newsDTO.getTitle());
-
-            neo4jGraphService.storeProcessedNews(processingResult, newsDTO);
+        try (IngestionMetrics.Stage stage = ingestionMetrics.stage("jpa-save")) {
+            // The outbox row commits with the article, so the graph write can't be lost
+            News savedDocument = transactionTemplate.execute(status -> {
+                News saved = newsRepository.save(new News(title, content, author.get()));
+                graphOutbox.enqueue(saved.getId(), profile);
+                return saved;
+            });
             return NewsMapper.toDto(savedDocument);
         } catch (Exception e) {
             logger.error("Error saving news: {}", e.getMessage(), e);
@@ -192,6 +348,79 @@ public class NewsService {
         }
     }
 
+    private void processNews(NewsDTO newsDTO, NlpProfile profile, IngestionJob job, ExtractionTrace trace) {
+        // Queued jobs stay queued until the models finish loading
+        stanfordNLPProcessor.awaitReady();
+
+        ingestionMetrics.articleStarted();
+        try {
+            job.transitionTo(IngestionJobState.ANNOTATING);
+            NewsProcessingResult processingResult = stanfordNLPProcessor.processNewsText(
+                newsDTO.getContent(), newsDTO.getTitle(), profile, trace);
+
+            job.transitionTo(IngestionJobState.WRITING_GRAPH);
+            GraphWriteOutcome outcome;
+            try (IngestionMetrics.Stage stage = ingestionMetrics.stage("graph-write")) {
+                outcome = writeGraph(processingResult, newsDTO, job, trace);
+            }
+
+            switch (outcome) {
+                case WRITTEN -> {
+                    job.transitionTo(IngestionJobState.DONE);
+                    ingestionMetrics.recordOutcome(true);
+                }
+                case FAILED -> ingestionMetrics.recordOutcome(false);
+                // The relay records the outcome of its own write
+                case CLAIMED_BY_RELAY -> { }
+            }
+        } catch (RuntimeException e) {
+            ingestionMetrics.recordOutcome(false);
+            throw e;
+        } finally {
+            ingestionMetrics.articleFinished();
+        }
+    }
+
+    private enum GraphWriteOutcome {
+        WRITTEN,
+        CLAIMED_BY_RELAY,
+        FAILED
+    }
+
+    /**
+     * Writes the article through the group-commit writer if the outbox relay
+     * hasn't claimed it already. A failed write is left to the relay; in both
+     * cases the job finishes as {@link IngestionJobState#GRAPH_PENDING}.
+     */
+    private GraphWriteOutcome writeGraph(NewsProcessingResult processingResult, NewsDTO newsDTO, IngestionJob job,
+                                         ExtractionTrace trace) {
+        if (!graphOutbox.claim(newsDTO.getId())) {
+            trace.record("graph", "Graph write already claimed by the outbox relay");
+            job.leaveGraphToRelay("Graph write taken over by the outbox relay");
+            return GraphWriteOutcome.CLAIMED_BY_RELAY;
+        }
+
+        try {
+            // Committed together with other articles written at the same time
+            graphWriter.write(processingResult, newsDTO, trace).join();
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            graphOutbox.fail(newsDTO.getId(), cause.getMessage());
+            job.leaveGraphToRelay("Graph write failed, the outbox relay will retry it: " + cause.getMessage());
+            return GraphWriteOutcome.FAILED;
+        }
+        try {
+            graphOutbox.complete(newsDTO.getId());
+        } catch (RuntimeException e) {
+            // The graph is written: the claim expires and the relay writes the article again, which is idempotent
+            logger.warn("Could not complete the graph outbox entry of news {}: {}", newsDTO.getId(), e.getMessage());
+        }
+        try (IngestionMetrics.Stage stage = ingestionMetrics.stage("graph-document")) {
+            graphDocuments.materialize(newsDTO.getId());
+        }
+        return GraphWriteOutcome.WRITTEN;
+    }
+
     /**
      * Elimina una noticia verificando que el solicitante sea el autor o un administrador
      * @return La noticia que fue eliminada
@@ -218,12 +447,25 @@ public class NewsService {
         }
         
         try {
-            newsRepository.delete(news);
-            return newsDTO;
+            transactionTemplate.executeWithoutResult(status -> {
+                newsRepository.delete(news);
+                graphOutbox.delete(newsId);
+                graphDocuments.delete(newsId);
+            });
+            // Even if the graph delete below fails, the article is gone
+            newsGraphCache.invalidate(newsId);
         } catch (Exception e) {
             logger.error("Error deleting news with ID {}: {}", newsId, e.getMessage(), e);
             throw new RuntimeException("Failed to delete news: " + e.getMessage());
         }
+
+        try {
+            neo4jGraphService.deleteNewsGraphs(List.of(newsId));
+        } catch (Exception e) {
+            // The garbage collector removes it on its next run
+            logger.warn("Could not delete the graph of news {}: {}", newsId, e.getMessage());
+        }
+        return newsDTO;
     }
 
     // MÉTODOS PARA CONSULTAS
@@ -431,17 +673,12 @@ public class NewsService {
         
         try {
             // Find related news IDs from the knowledge graph
-            List<String> relatedIds = neo4jGraphService.findRelatedNewsIds(newsId.toString(), limit);
+            List<Long> relatedNewsIds = neo4jGraphService.findRelatedNewsIds(newsId, limit);
             
-            if (relatedIds.isEmpty()) {
+            if (relatedNewsIds.isEmpty()) {
                 return Collections.emptyList();
             }
             
-            // Convert string IDs to Long
-            List<Long> relatedNewsIds = relatedIds.stream()
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-            
             // Fetch the news articles from the database
             List<News> relatedNews = newsRepository.findAllById(relatedNewsIds);
             
@@ -454,9 +691,6 @@ public class NewsService {
             relatedNews.sort(Comparator.comparing(n -> orderMap.getOrDefault(n.getId(), Integer.MAX_VALUE)));
             
             return NewsMapper.toDto(relatedNews);
-        } catch (NumberFormatException e) {
-            logger.error("Error parsing related news IDs: {}", e.getMessage());
-            throw new RuntimeException("Error processing related news IDs");
         } catch (Exception e) {
             logger.error("Error retrieving related news: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve related news: " + e.getMessage());
@@ -0,0 +1,261 @@
+package com.github.irmindev.graph_news.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.utils.LruCache;
+
+/**
+ * Content-addressed cache of NLP results. Keys are the SHA-256 of the
+ * normalized article text plus a namespace describing the pipeline that
+ * produced the result (profile, annotator settings, extraction version), so a
+ * change in any of them never serves stale output.
+ *
+ * Results are stored as JSON in an in-memory LRU tier and, when
+ * {@code nlp.cache.dir} is set, in a size-bounded directory that survives
+ * restarts. Both tiers hold serialized bytes, so every hit returns a fresh copy.
+ */
+@Component
+public class NlpResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(NlpResultCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final LruCache<String, byte[]> memory;
+    private final Path directory;
+    private final long maxDiskBytes;
+
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong annotationCount = new AtomicLong();
+    private final AtomicLong annotationNanos = new AtomicLong();
+
+    @Autowired
+    public NlpResultCache(
+        ObjectMapper objectMapper,
+        @Value("${nlp.cache.enabled:true}") boolean enabled,
+        @Value("${nlp.cache.memory-entries:256}") int memoryEntries,
+        @Value("${nlp.cache.dir:}") String directory,
+        @Value("${nlp.cache.disk-max-mb:512}") long maxDiskMegabytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.memory = new LruCache<>(memoryEntries);
+        this.directory = enabled && !directory.isBlank() ? Path.of(directory) : null;
+        this.maxDiskBytes = maxDiskMegabytes * 1024 * 1024;
+
+        if (this.directory != null) {
+            try {
+                Files.createDirectories(this.directory);
+                diskBytes.set(listDiskEntries().stream().mapToLong(this::sizeOf).sum());
+                logger.info("NLP result cache on disk at {} ({} bytes used)", this.directory, diskBytes.get());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create NLP cache directory " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Builds the cache key of a text for the given pipeline namespace
+     */
+    public String key(String text, String namespace) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll(" ").strip();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<NewsProcessingResult> get(String key) {
+        if (!enabled) return Optional.empty();
+
+        byte[] bytes = memory.get(key);
+        if (bytes == null && directory != null) {
+            bytes = readFromDisk(key);
+            if (bytes != null) {
+                diskHits.incrementAndGet();
+                memory.put(key, bytes);
+            }
+        }
+        if (bytes == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(bytes, NewsProcessingResult.class));
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable NLP cache entry {}: {}", key, e.getMessage());
+            memory.remove(key);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a result. Title and text are not cached, callers set them on every hit.
+     */
+    public void put(String key, NewsProcessingResult result, long annotationNanos) {
+        this.annotationCount.incrementAndGet();
+        this.annotationNanos.addAndGet(annotationNanos);
+        if (!enabled) return;
+
+        NewsProcessingResult stored = new NewsProcessingResult();
+        stored.setEntities(result.getEntities());
+        stored.setRelationships(result.getRelationships());
+        stored.setKeyPhrases(result.getKeyPhrases());
+
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(stored);
+        } catch (IOException e) {
+            logger.warn("Could not serialize NLP result for cache: {}", e.getMessage());
+            return;
+        }
+        memory.put(key, bytes);
+        if (directory != null) {
+            writeToDisk(key, bytes);
+        }
+    }
+
+    public long getHitCount() {
+        return memory.getHits() + diskHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = memory.getHits() + diskHits.get();
+        long total = hits + misses.get();
+        long annotations = annotationCount.get();
+        double avgAnnotationMillis = annotations == 0 ? 0.0 : annotationNanos.get() / 1_000_000.0 / annotations;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hits", hits);
+        stats.put("memoryHits", memory.getHits());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hits / total);
+        stats.put("memoryEntries", memory.size());
+        stats.put("memoryMaxEntries", memory.getMaxEntries());
+        stats.put("memoryEvictions", memory.getEvictions());
+        stats.put("diskBytes", diskBytes.get());
+        stats.put("diskMaxBytes", directory != null ? maxDiskBytes : 0);
+        stats.put("diskEvictions", diskEvictions.get());
+        stats.put("avgAnnotationMillis", avgAnnotationMillis);
+        // Every hit skipped one annotation, estimated at the average cost of a miss
+        stats.put("estimatedSavedMillis", hits * avgAnnotationMillis);
+        return stats;
+    }
+
+    private byte[] readFromDisk(String key) {
+        Path file = directory.resolve(key + ".json");
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            // The modification time doubles as last access time for eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return bytes;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] bytes) {
+        Path file = directory.resolve(key + ".json");
+        try {
+            long previous = Files.exists(file) ? Files.size(file) : 0;
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes.addAndGet(bytes.length - previous) > maxDiskBytes) {
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write NLP cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the directory is back to 90% of its limit
+     */
+    private synchronized void evictFromDisk() {
+        long target = maxDiskBytes * 9 / 10;
+        if (diskBytes.get() <= maxDiskBytes) return;
+
+        List<Path> files = listDiskEntries().stream()
+            .sorted(Comparator.comparing(this::lastModified))
+            .toList();
+        for (Path file : files) {
+            if (diskBytes.get() <= target) break;
+            long size = sizeOf(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    diskBytes.addAndGet(-size);
+                    diskEvictions.incrementAndGet();
+                }
+            } catch (IOException e) {
+                logger.warn("Could not evict NLP cache entry {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private List<Path> listDiskEntries() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".json")).toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
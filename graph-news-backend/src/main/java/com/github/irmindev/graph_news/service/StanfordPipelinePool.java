@@ -0,0 +1,135 @@
+package com.github.irmindev.graph_news.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.irmindev.graph_news.model.exception.nlp.PipelineUnavailableException;
+
+/**
+ * Fixed-size pool of CoreNLP pipelines.
+ *
+ * CoreNLP keeps a global annotator cache keyed by annotator signature, so every
+ * pipeline built here from the same properties reuses the same read-only models
+ * (tagger, NER classifiers, parsers, coref). Each extra pipeline only costs its
+ * own wrapper, which lets {@code size} documents be annotated in parallel without
+ * paying the model memory {@code size} times. Pipelines are staged per annotator
+ * so annotation time can be reported per annotator.
+ */
+public class StanfordPipelinePool {
+    private static final Logger logger = LoggerFactory.getLogger(StanfordPipelinePool.class);
+
+    private final BlockingQueue<StagedPipeline> available;
+    private final int size;
+    private final long borrowTimeoutMillis;
+    private final long createdAtNanos = System.nanoTime();
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalBusyNanos = new AtomicLong();
+
+    public StanfordPipelinePool(Properties props, int size, long borrowTimeoutMillis) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pipeline pool size must be greater than zero");
+        }
+        this.size = size;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.available = new ArrayBlockingQueue<>(size);
+
+        for (int i = 0; i < size; i++) {
+            available.add(new StagedPipeline(props));
+        }
+        logger.info("Created CoreNLP pipeline pool with {} pipelines (annotators: {})",
+            size, props.getProperty("annotators"));
+    }
+
+    /**
+     * Borrows a pipeline, runs the given work with it and gives it back to the pool.
+     *
+     * @throws PipelineUnavailableException if no pipeline is released within the borrow timeout
+     */
+    public <T> T execute(Function<StagedPipeline, T> work) {
+        StagedPipeline pipeline = borrow();
+        long start = System.nanoTime();
+        try {
+            return work.apply(pipeline);
+        } finally {
+            totalBusyNanos.addAndGet(System.nanoTime() - start);
+            release(pipeline);
+        }
+    }
+
+    private StagedPipeline borrow() {
+        long start = System.nanoTime();
+        StagedPipeline pipeline;
+        try {
+            pipeline = available.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineUnavailableException("Interrupted while waiting for an NLP pipeline");
+        }
+
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        if (pipeline == null) {
+            timeoutCount.incrementAndGet();
+            throw new PipelineUnavailableException(
+                "No NLP pipeline became available within " + borrowTimeoutMillis + " ms");
+        }
+
+        borrowCount.incrementAndGet();
+        inUse.incrementAndGet();
+        return pipeline;
+    }
+
+    private void release(StagedPipeline pipeline) {
+        inUse.decrementAndGet();
+        available.offer(pipeline);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * Snapshot of the pool counters. Utilization is the fraction of pipelines busy
+     * right now; busy ratio is the share of pipeline time spent annotating since
+     * the pool was created.
+     */
+    public Map<String, Object> getStats() {
+        long borrows = borrowCount.get();
+        long attempts = borrows + timeoutCount.get();
+        long elapsed = Math.max(1, System.nanoTime() - createdAtNanos);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("inUse", inUse.get());
+        stats.put("available", available.size());
+        stats.put("utilization", (double) inUse.get() / size);
+        stats.put("busyRatio", (double) totalBusyNanos.get() / ((double) elapsed * size));
+        stats.put("borrowCount", borrows);
+        stats.put("timeoutCount", timeoutCount.get());
+        stats.put("avgWaitMillis", attempts == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / attempts);
+        stats.put("maxWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+        stats.put("borrowTimeoutMillis", borrowTimeoutMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.irmindev.graph_news.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-document index of entity names that answers exact, contains and
+ * contained-in lookups without scanning every entity.
+ *
+ * Names are compared case-insensitively as token sequences (letters and
+ * digits). Every contiguous token n-gram of an indexed name points back to the
+ * name, so "is the text part of some entity" is one hash lookup, and "does the
+ * text mention some entity" is one lookup per n-gram of the text, bounded by
+ * the longest indexed name.
+ */
+public class EntityIndex<V> {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, V> exact = new HashMap<>();
+    private final Map<String, V> byTokens = new HashMap<>();
+    private final Map<String, V> byFragment = new HashMap<>();
+    private int maxTokens;
+
+    /**
+     * Indexes a name. When several names share a fragment, the first one added wins.
+     */
+    public void add(String name, V value) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) return;
+        exact.putIfAbsent(normalized, value);
+
+        List<String> tokens = tokenize(normalized);
+        if (tokens.isEmpty()) return;
+        byTokens.putIfAbsent(String.join(" ", tokens), value);
+        maxTokens = Math.max(maxTokens, tokens.size());
+
+        for (int from = 0; from < tokens.size(); from++) {
+            StringBuilder fragment = new StringBuilder();
+            for (int to = from; to < tokens.size(); to++) {
+                if (to > from) fragment.append(' ');
+                fragment.append(tokens.get(to));
+                byFragment.putIfAbsent(fragment.toString(), value);
+            }
+        }
+    }
+
+    /**
+     * The entity whose name equals the text, ignoring case and punctuation
+     */
+    public V findExact(String text) {
+        String normalized = normalize(text);
+        V value = exact.get(normalized);
+        if (value != null) return value;
+        return byTokens.get(String.join(" ", tokenize(normalized)));
+    }
+
+    /**
+     * An entity whose name contains the whole text, e.g. "Obama" in "Barack Obama"
+     */
+    public V findContaining(String text) {
+        List<String> tokens = tokenize(normalize(text));
+        if (tokens.isEmpty()) return null;
+        return byFragment.get(String.join(" ", tokens));
+    }
+
+    /**
+     * The longest entity whose name appears inside the text, e.g. "Congress" in
+     * "the members of Congress"
+     */
+    public V findContainedIn(String text) {
+        List<String> tokens = tokenize(normalize(text));
+        // Longest n-grams first so the most specific entity wins
+        for (int length = Math.min(maxTokens, tokens.size()); length > 0; length--) {
+            for (int from = 0; from + length <= tokens.size(); from++) {
+                V value = byTokens.get(String.join(" ", tokens.subList(from, from + length)));
+                if (value != null) return value;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return exact.size();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.irmindev.graph_news.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed set of relationship types that extracted relations are mapped onto,
+ * so new verbs don't become new Neo4j relationship types. Each type lists the
+ * lemma phrases (lemma clusters) that belong to it, one type per line:
+ *
+ * <pre>
+ * ACQUIRED = acquire, buy, purchase, take over
+ * </pre>
+ *
+ * A relation is mapped by its longest sub-phrase found in the vocabulary, so
+ * "be president of" matches "president of"; relations with no match get the
+ * fallback type.
+ */
+public final class RelationVocabulary {
+    private static final Pattern TYPE_NAME = Pattern.compile("[A-Z][A-Z0-9_]*");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, String> typesByPhrase;
+    private final Set<String> types;
+    private final String fallbackType;
+    private final String fingerprint;
+
+    private RelationVocabulary(Map<String, String> typesByPhrase, Set<String> types, String fallbackType,
+                               String fingerprint) {
+        this.typesByPhrase = typesByPhrase;
+        this.types = Collections.unmodifiableSet(types);
+        this.fallbackType = fallbackType;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Parses vocabulary lines; blank lines and lines starting with # are skipped.
+     * A phrase listed under two types stays with the first one.
+     *
+     * @throws IllegalArgumentException on a malformed line or type name
+     */
+    public static RelationVocabulary parse(List<String> lines, String fallbackType) {
+        requireTypeName(fallbackType);
+
+        Map<String, String> typesByPhrase = new HashMap<>();
+        Set<String> types = new LinkedHashSet<>();
+        StringBuilder canonical = new StringBuilder(fallbackType);
+
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid relation vocabulary line: " + line);
+            }
+            String type = trimmed.substring(0, separator).strip();
+            requireTypeName(type);
+            types.add(type);
+
+            for (String phrase : trimmed.substring(separator + 1).split(",")) {
+                String normalized = normalize(phrase);
+                if (!normalized.isEmpty()) {
+                    typesByPhrase.putIfAbsent(normalized, type);
+                }
+            }
+            canonical.append('\n').append(trimmed);
+        }
+        types.add(fallbackType);
+
+        return new RelationVocabulary(typesByPhrase, types, fallbackType, sha256(canonical.toString()));
+    }
+
+    /**
+     * Maps a relation, given as lemmas ("be bear in", "acquire"), to its type
+     */
+    public String map(String relationLemmas) {
+        if (relationLemmas == null) return fallbackType;
+
+        List<String> tokens = List.of(normalize(relationLemmas).split(" "));
+        for (int length = tokens.size(); length > 0; length--) {
+            for (int start = 0; start + length <= tokens.size(); start++) {
+                String type = typesByPhrase.get(String.join(" ", tokens.subList(start, start + length)));
+                if (type != null) {
+                    return type;
+                }
+            }
+        }
+        return fallbackType;
+    }
+
+    public boolean contains(String type) {
+        return types.contains(type);
+    }
+
+    public Set<String> getTypes() {
+        return types;
+    }
+
+    public String getFallbackType() {
+        return fallbackType;
+    }
+
+    /**
+     * Hash of the vocabulary contents; changes whenever a mapping would
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    private static String normalize(String phrase) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(phrase.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return String.join(" ", tokens);
+    }
+
+    private static void requireTypeName(String type) {
+        if (type == null || !TYPE_NAME.matcher(type).matches()) {
+            throw new IllegalArgumentException("Invalid relationship type name: " + type);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.irmindev.graph_news.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits long texts into bounded chunks for annotation. Chunks are cut at
+ * paragraph boundaries first, then at sentence boundaries, and only as a last
+ * resort at whitespace, so no sentence is split unless it alone exceeds the limit.
+ */
+public final class TextChunker {
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_BREAK = Pattern.compile("(?<=[.!?])\\s+");
+
+    private TextChunker() {
+    }
+
+    public static List<String> split(String text, int maxChars) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+        if (maxChars <= 0 || text.length() <= maxChars) {
+            chunks.add(text);
+            return chunks;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            if (paragraph.isBlank()) continue;
+
+            if (paragraph.length() > maxChars) {
+                for (String sentence : SENTENCE_BREAK.split(paragraph)) {
+                    for (String piece : splitAtWhitespace(sentence, maxChars)) {
+                        append(chunks, current, piece, " ", maxChars);
+                    }
+                }
+                // Keep the paragraph break after a paragraph that was cut into sentences
+                flush(chunks, current);
+            } else {
+                append(chunks, current, paragraph, "\n\n", maxChars);
+            }
+        }
+        flush(chunks, current);
+
+        return chunks;
+    }
+
+    private static void append(List<String> chunks, StringBuilder current, String piece, String separator, int maxChars) {
+        if (current.length() > 0 && current.length() + separator.length() + piece.length() > maxChars) {
+            flush(chunks, current);
+        }
+        if (current.length() > 0) {
+            current.append(separator);
+        }
+        current.append(piece.strip());
+    }
+
+    private static void flush(List<String> chunks, StringBuilder current) {
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static List<String> splitAtWhitespace(String sentence, int maxChars) {
+        List<String> pieces = new ArrayList<>();
+        String remaining = sentence.strip();
+        while (remaining.length() > maxChars) {
+            int cut = remaining.lastIndexOf(' ', maxChars);
+            if (cut <= 0) {
+                cut = maxChars;
+            }
+            pieces.add(remaining.substring(0, cut));
+            remaining = remaining.substring(cut).strip();
+        }
+        if (!remaining.isEmpty()) {
+            pieces.add(remaining);
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.irmindev.graph_news.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.model.graph.NewsGraph;
+import com.github.irmindev.graph_news.model.response.news.GraphResponse;
+import com.github.irmindev.graph_news.service.EntityNeighborhoodService;
+import com.github.irmindev.graph_news.service.EntityPathService;
+import com.github.irmindev.graph_news.service.GraphService;
+import com.github.irmindev.graph_news.service.NewsGraphCache;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GraphController Unit Tests")
+class GraphControllerTest {
+    private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+
+    @Mock
+    private GraphService graphService;
+
+    @Mock
+    private EntityNeighborhoodService entityNeighborhoodService;
+
+    @Mock
+    private EntityPathService entityPathService;
+
+    private GraphController graphController;
+
+    @BeforeEach
+    void setUp() {
+        graphController = new GraphController(graphService, entityNeighborhoodService, entityPathService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should match the exact tag, a weak copy of it and the wildcard")
+    void shouldMatchTagWeakTagAndWildcard() {
+        assertTrue(GraphController.matches(ETAG, ETAG));
+        assertTrue(GraphController.matches("W/" + ETAG, ETAG));
+        assertTrue(GraphController.matches("*", ETAG));
+    }
+
+    @Test
+    @DisplayName("Should match a tag anywhere in a list")
+    void shouldMatchTagInList() {
+        assertTrue(GraphController.matches("\"stale\", " + ETAG + ",\"other\"", ETAG));
+        assertTrue(GraphController.matches("\"stale\",W/" + ETAG, ETAG));
+    }
+
+    @Test
+    @DisplayName("Should not match a missing header or other tags")
+    void shouldNotMatchOtherTags() {
+        assertFalse(GraphController.matches(null, ETAG));
+        assertFalse(GraphController.matches("\"stale\", W/\"other\"", ETAG));
+        // Tags are quoted, so the bare value is a different tag
+        assertFalse(GraphController.matches(ETAG.replace("\"", ""), ETAG));
+    }
+
+    @Test
+    @DisplayName("Should answer an empty 304 while the client's copy is current")
+    void shouldAnswerNotModifiedWhenTagMatches() {
+        // Given
+        when(graphService.getCachedNewsGraph(1L, false, null, 0))
+            .thenReturn(new NewsGraphCache.Entry(new NewsGraph(null, List.of(), List.of()), ETAG));
+
+        // When
+        ResponseEntity<GraphResponse> response = graphController.getNewsGraph(1L, false, null, 0, "W/" + ETAG);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should send the graph with its tag when the client's copy is stale")
+    void shouldSendGraphWhenTagDiffers() {
+        // Given
+        when(graphService.getCachedNewsGraph(1L, false, null, 0))
+            .thenReturn(new NewsGraphCache.Entry(new NewsGraph(null, List.of(), List.of()), ETAG));
+
+        // When
+        ResponseEntity<GraphResponse> response = graphController.getNewsGraph(1L, false, null, 0, "\"stale\"");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertInstanceOf(GraphResponse.Success.class, response.getBody());
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("EntityIdCache Unit Tests")
+class EntityIdCacheTest {
+
+    private final EntityIdCache cache = new EntityIdCache(10, new IngestionMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    @DisplayName("Should normalize case and surrounding whitespace in keys")
+    void shouldNormalizeKeys() {
+        assertEquals(EntityIdCache.key("Donald Trump", "PERSON"), EntityIdCache.key("  donald TRUMP ", "PERSON"));
+        // Unicode whitespace too; the schema migrations stage keys with this same method
+        assertEquals(EntityIdCache.key("Donald Trump", "PERSON"), EntityIdCache.key("\u2003Donald Trump\u3000", "PERSON"));
+        assertNotEquals(EntityIdCache.key("Washington", "PERSON"), EntityIdCache.key("Washington", "LOCATION"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate entries by node id")
+    void shouldInvalidateEntriesByNodeId() {
+        // Given
+        cache.putAll(Map.of("us|LOCATION", "id-1", "trump|PERSON", "id-2"));
+
+        // When
+        cache.invalidateIds(List.of("id-1"));
+
+        // Then
+        assertNull(cache.get("us|LOCATION"));
+        assertEquals("id-2", cache.get("trump|PERSON"));
+        assertEquals(1L, cache.getStats().get("invalidations"));
+    }
+}
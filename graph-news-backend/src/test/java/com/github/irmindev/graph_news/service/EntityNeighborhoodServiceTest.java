@@ -0,0 +1,35 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.irmindev.graph_news.service.EntityNeighborhoodService.NeighborhoodQuery;
+
+@DisplayName("EntityNeighborhoodService Unit Tests")
+class EntityNeighborhoodServiceTest {
+
+    @Test
+    @DisplayName("Should repeat the last fan-out for deeper hops")
+    void shouldRepeatLastFanOut() {
+        NeighborhoodQuery query = new NeighborhoodQuery("e1", 3, List.of(25, 10), null, 0.0);
+
+        assertEquals(25, query.fanOutAt(1));
+        assertEquals(10, query.fanOutAt(2));
+        assertEquals(10, query.fanOutAt(3));
+        assertEquals(List.of(), query.types());
+    }
+
+    @Test
+    @DisplayName("Should reject out of range depths, fan-outs and malformed types")
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> new NeighborhoodQuery("e1", 0, List.of(10), null, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new NeighborhoodQuery("e1", 4, List.of(10), null, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new NeighborhoodQuery("e1", 1, List.of(0), null, 0.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NeighborhoodQuery("e1", 1, List.of(10), List.of("ACQUIRED`]-() DETACH DELETE n //"), 0.0));
+    }
+}
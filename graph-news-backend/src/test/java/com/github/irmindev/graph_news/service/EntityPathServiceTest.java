@@ -0,0 +1,129 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.irmindev.graph_news.service.EntityPathService.Chain;
+import com.github.irmindev.graph_news.service.EntityPathService.Hop;
+import com.github.irmindev.graph_news.service.EntityPathService.Side;
+import com.github.irmindev.graph_news.service.EntityPathService.Step;
+
+@DisplayName("EntityPathService Unit Tests")
+class EntityPathServiceTest {
+
+    @Test
+    @DisplayName("Should join a one hop path at the other endpoint")
+    void shouldJoinOneHopPath() {
+        // Given: the forward side reached B from A
+        Side forward = new Side("A", "B");
+        Side backward = new Side("B", "A");
+        reach(forward, "B", 1, "A", hop("A", "B", "ACQUIRED"), 3);
+
+        // When
+        Map<String, Chain> paths = new LinkedHashMap<>();
+        EntityPathService.join(forward, backward, "B", 3, paths);
+
+        // Then
+        assertEquals(1, paths.size());
+        Chain path = paths.get("A,B");
+        assertEquals(List.of("A", "B"), path.nodes());
+        assertEquals(List.of("ACQUIRED"), path.hops().stream().map(Hop::type).toList());
+    }
+
+    @Test
+    @DisplayName("Should join a two hop path through an article mentioning both entities")
+    void shouldJoinTwoHopPathThroughNews() {
+        // Given: both sides reached the article N
+        Side forward = new Side("A", "B");
+        Side backward = new Side("B", "A");
+        reach(forward, "N", 1, "A", hop("A", "N", "MENTIONED_IN"), 3);
+        reach(backward, "N", 1, "B", hop("B", "N", "MENTIONED_IN"), 3);
+
+        // When
+        Map<String, Chain> paths = new LinkedHashMap<>();
+        EntityPathService.join(forward, backward, "N", 3, paths);
+
+        // Then: the backward half is walked back from N to B
+        Chain path = paths.get("A,N,B");
+        assertNotNull(path);
+        assertEquals(List.of("A", "N", "B"), path.nodes());
+        assertEquals(List.of("A", "B"), path.hops().stream().map(Hop::startId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject joined halves that cross before the meeting node")
+    void shouldRejectCrossingHalves() {
+        // Given: both halves reach M through X, the backward one also through Y
+        Side forward = new Side("A", "B");
+        Side backward = new Side("B", "A");
+        reach(forward, "X", 1, "A", hop("A", "X", "RELATED_TO"), 3);
+        reach(forward, "M", 2, "X", hop("X", "M", "RELATED_TO"), 3);
+        reach(backward, "X", 1, "B", hop("B", "X", "RELATED_TO"), 3);
+        reach(backward, "Y", 1, "B", hop("B", "Y", "RELATED_TO"), 3);
+        reach(backward, "M", 2, "X", hop("X", "M", "RELATED_TO"), 3);
+        reach(backward, "M", 2, "Y", hop("Y", "M", "RELATED_TO"), 3);
+
+        // When
+        Map<String, Chain> paths = new LinkedHashMap<>();
+        EntityPathService.join(forward, backward, "M", 3, paths);
+
+        // Then: A,X,M,X,B visits X twice
+        assertEquals(List.of("A,X,M,Y,B"), List.copyOf(paths.keySet()));
+    }
+
+    @Test
+    @DisplayName("Should keep one path per node sequence")
+    void shouldKeepOnePathPerNodeSequence() {
+        // Given: two relationships between A and B
+        Side forward = new Side("A", "B");
+        Side backward = new Side("B", "A");
+        reach(forward, "B", 1, "A", hop("A", "B", "ACQUIRED"), 3);
+        reach(forward, "B", 1, "A", hop("A", "B", "PARTNERED_WITH"), 3);
+
+        // When
+        Map<String, Chain> paths = new LinkedHashMap<>();
+        EntityPathService.join(forward, backward, "B", 3, paths);
+
+        // Then: the first one found is kept
+        assertEquals(1, paths.size());
+        assertEquals("ACQUIRED", paths.get("A,B").hops().get(0).type());
+    }
+
+    @Test
+    @DisplayName("Should keep at most k routes to a node and k paths through it")
+    void shouldTruncateToK() {
+        // Given: M is reached through three entities, k = 2
+        Side forward = new Side("A", "B");
+        Side backward = new Side("B", "A");
+        for (String middle : List.of("X1", "X2", "X3")) {
+            reach(forward, middle, 1, "A", hop("A", middle, "RELATED_TO"), 2);
+            reach(forward, "M", 2, middle, hop(middle, "M", "RELATED_TO"), 2);
+        }
+        reach(backward, "M", 1, "B", hop("B", "M", "RELATED_TO"), 2);
+
+        // When
+        Map<String, Chain> paths = new LinkedHashMap<>();
+        EntityPathService.join(forward, backward, "M", 2, paths);
+
+        // Then
+        assertEquals(2, forward.parents.get("M").size());
+        assertEquals(2, EntityPathService.chains(forward, "M", 2).size());
+        assertEquals(List.of("A,X1,M,B", "A,X2,M,B"), List.copyOf(paths.keySet()));
+    }
+
+    // Records the route the level query would have returned
+    private static void reach(Side side, String node, int level, String previous, Hop hop, int k) {
+        side.visit(node, level);
+        side.addParent(node, new Step(previous, hop), k);
+    }
+
+    private static Hop hop(String startId, String endId, String type) {
+        return new Hop(startId, endId, type, null, 0.9, 1, List.of());
+    }
+}
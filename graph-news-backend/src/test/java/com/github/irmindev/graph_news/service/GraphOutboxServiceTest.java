@@ -0,0 +1,188 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.irmindev.graph_news.model.entity.GraphOutboxEvent;
+import com.github.irmindev.graph_news.model.enums.GraphOutboxStatus;
+import com.github.irmindev.graph_news.model.enums.NlpProfile;
+import com.github.irmindev.graph_news.repository.GraphOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GraphOutboxService Unit Tests")
+class GraphOutboxServiceTest {
+
+    @Mock
+    private GraphOutboxRepository outboxRepository;
+
+    private GraphOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        // 60 s first attempt delay, 600 s lease, 10 s backoff base, 3600 s backoff cap, 3 attempts, 24 h retention
+        outboxService = new GraphOutboxService(outboxRepository, 60, 600, 10, 3600, 3, 24);
+    }
+
+    @Test
+    @DisplayName("Should enqueue the article with its profile and leave it to the upload for the first attempt delay")
+    void shouldEnqueueWithFirstAttemptDelay() {
+        // When
+        outboxService.enqueue(1L, NlpProfile.FULL);
+
+        // Then
+        ArgumentCaptor<GraphOutboxEvent> saved = ArgumentCaptor.forClass(GraphOutboxEvent.class);
+        verify(outboxRepository).save(saved.capture());
+        GraphOutboxEvent event = saved.getValue();
+        assertEquals(GraphOutboxStatus.PENDING, event.getStatus());
+        assertEquals(NlpProfile.FULL, event.getProfile());
+        assertEquals(Duration.ofSeconds(60), Duration.between(event.getCreatedAt(), event.getNextAttemptAt()));
+    }
+
+    @Test
+    @DisplayName("Should own the write only when the conditional claim updated the row")
+    void shouldClaimOnlyWhenRowUpdated() {
+        // Given
+        when(outboxRepository.claim(eq(1L), any(), any())).thenReturn(1);
+        when(outboxRepository.claim(eq(2L), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertTrue(outboxService.claim(1L));
+        assertFalse(outboxService.claim(2L));
+    }
+
+    @Test
+    @DisplayName("Should take over claims older than the lease")
+    void shouldPassLeaseExpiryToClaim() {
+        // Given
+        when(outboxRepository.claim(eq(1L), any(), any())).thenReturn(1);
+
+        // When
+        outboxService.claim(1L);
+
+        // Then
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> leaseExpiry = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).claim(eq(1L), now.capture(), leaseExpiry.capture());
+        assertEquals(Duration.ofSeconds(600), Duration.between(leaseExpiry.getValue(), now.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should return only the due entries whose claim succeeded")
+    void shouldClaimDueEntries() {
+        // Given: another writer claims news 2 between the read and the update
+        GraphOutboxEvent first = event(1L, GraphOutboxStatus.PENDING, 0);
+        GraphOutboxEvent second = event(2L, GraphOutboxStatus.PENDING, 0);
+        when(outboxRepository.findDue(any(), any(), any())).thenReturn(List.of(first, second));
+        when(outboxRepository.claim(eq(1L), any(), any())).thenReturn(1);
+        when(outboxRepository.claim(eq(2L), any(), any())).thenReturn(0);
+
+        // When
+        List<GraphOutboxEvent> claimed = outboxService.claimDue(10);
+
+        // Then
+        assertEquals(List.of(first), claimed);
+    }
+
+    @Test
+    @DisplayName("Should mark a completed entry as done and release its claim")
+    void shouldCompleteEntry() {
+        // Given
+        GraphOutboxEvent event = event(1L, GraphOutboxStatus.IN_PROGRESS, 0);
+        event.setClaimedAt(Instant.now());
+        when(outboxRepository.findByNewsId(1L)).thenReturn(Optional.of(event));
+
+        // When
+        outboxService.complete(1L);
+
+        // Then
+        assertEquals(GraphOutboxStatus.DONE, event.getStatus());
+        assertNotNull(event.getProcessedAt());
+        assertNull(event.getClaimedAt());
+    }
+
+    @Test
+    @DisplayName("Should put a failed entry back in the queue after the backoff")
+    void shouldRescheduleFailedEntry() {
+        // Given
+        GraphOutboxEvent event = event(1L, GraphOutboxStatus.IN_PROGRESS, 1);
+        event.setClaimedAt(Instant.now());
+        when(outboxRepository.findByNewsId(1L)).thenReturn(Optional.of(event));
+
+        // When
+        Instant before = Instant.now();
+        outboxService.fail(1L, "Neo4j unavailable");
+
+        // Then: second attempt, so twice the base
+        assertEquals(GraphOutboxStatus.PENDING, event.getStatus());
+        assertEquals(2, event.getAttempts());
+        assertNull(event.getClaimedAt());
+        assertEquals("Neo4j unavailable", event.getLastError());
+        assertFalse(event.getNextAttemptAt().isBefore(before.plusSeconds(20)));
+        assertFalse(event.getNextAttemptAt().isAfter(Instant.now().plusSeconds(20)));
+    }
+
+    @Test
+    @DisplayName("Should mark the entry dead once the attempts run out")
+    void shouldMarkEntryDeadAfterMaxAttempts() {
+        // Given
+        GraphOutboxEvent event = event(1L, GraphOutboxStatus.IN_PROGRESS, 2);
+        when(outboxRepository.findByNewsId(1L)).thenReturn(Optional.of(event));
+
+        // When
+        outboxService.fail(1L, null);
+
+        // Then
+        assertEquals(GraphOutboxStatus.DEAD, event.getStatus());
+        assertEquals(3, event.getAttempts());
+        assertEquals("Unknown error", event.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should double the backoff with every attempt up to the cap")
+    void shouldDoubleBackoffUpToCap() {
+        assertEquals(Duration.ofSeconds(10), outboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(20), outboxService.backoff(2));
+        assertEquals(Duration.ofSeconds(2560), outboxService.backoff(9));
+        assertEquals(Duration.ofSeconds(3600), outboxService.backoff(10));
+        assertEquals(Duration.ofSeconds(3600), outboxService.backoff(1000));
+    }
+
+    @Test
+    @DisplayName("Should requeue a dead entry with a fresh attempt budget")
+    void shouldRetryDeadEntry() {
+        // Given
+        GraphOutboxEvent dead = event(1L, GraphOutboxStatus.DEAD, 3);
+        GraphOutboxEvent done = event(2L, GraphOutboxStatus.DONE, 0);
+        when(outboxRepository.findByNewsId(1L)).thenReturn(Optional.of(dead));
+        when(outboxRepository.findByNewsId(2L)).thenReturn(Optional.of(done));
+
+        // When & Then
+        assertTrue(outboxService.retry(1L));
+        assertEquals(GraphOutboxStatus.PENDING, dead.getStatus());
+        assertEquals(0, dead.getAttempts());
+        assertFalse(outboxService.retry(2L));
+        assertEquals(GraphOutboxStatus.DONE, done.getStatus());
+    }
+
+    private static GraphOutboxEvent event(Long newsId, GraphOutboxStatus status, int attempts) {
+        Instant now = Instant.now();
+        GraphOutboxEvent event = new GraphOutboxEvent(newsId, null, now, now);
+        event.setStatus(status);
+        event.setAttempts(attempts);
+        return event;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.irmindev.graph_news.model.graph.EntityNode;
+import com.github.irmindev.graph_news.model.graph.EntityRelationship;
+import com.github.irmindev.graph_news.model.graph.NewsGraph;
+import com.github.irmindev.graph_news.model.graph.NewsNode;
+
+@DisplayName("GraphService Unit Tests")
+class GraphServiceTest {
+
+    @Test
+    @DisplayName("Should keep the top entities and the confident relationships among them")
+    void shouldTrimDocumentLikeTheQuery() {
+        // Given: entities already ranked by mentions, as stored in a document
+        NewsGraph document = new NewsGraph(new NewsNode(),
+            List.of(entity("a", 5), entity("b", 3), entity("c", 1)),
+            List.of(relationship("a", "b", 0.9), relationship("a", "b", 0.2), relationship("b", "c", 0.9)));
+        document.setTotalEntities(3);
+
+        // When
+        NewsGraph trimmed = GraphService.trim(document, 2, 0.5);
+
+        // Then
+        assertEquals(List.of("a", "b"), trimmed.getEntities().stream().map(EntityNode::getId).toList());
+        assertEquals(1, trimmed.getRelationships().size());
+        assertEquals(0.9, trimmed.getRelationships().get(0).getConfidence());
+        assertEquals(3, trimmed.getTotalEntities());
+    }
+
+    @Test
+    @DisplayName("Should keep the whole graph without limits")
+    void shouldKeepWholeGraphWithoutLimits() {
+        NewsGraph document = new NewsGraph(new NewsNode(),
+            List.of(entity("a", 2), entity("b", 1)),
+            List.of(relationship("a", "b", 0.1)));
+
+        NewsGraph trimmed = GraphService.trim(document, null, 0.0);
+
+        assertEquals(2, trimmed.getEntities().size());
+        assertEquals(1, trimmed.getRelationships().size());
+    }
+
+    private static EntityNode entity(String id, int mentionCount) {
+        EntityNode entity = new EntityNode();
+        entity.setId(id);
+        entity.setName(id);
+        entity.setType("PERSON");
+        entity.setMentionCount(mentionCount);
+        return entity;
+    }
+
+    private static EntityRelationship relationship(String sourceId, String targetId, double confidence) {
+        EntityRelationship relationship = new EntityRelationship();
+        relationship.setSourceId(sourceId);
+        relationship.setTargetId(targetId);
+        relationship.setType("RELATED_TO");
+        relationship.setConfidence(confidence);
+        return relationship;
+    }
+}
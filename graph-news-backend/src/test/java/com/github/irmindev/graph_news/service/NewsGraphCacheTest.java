@@ -0,0 +1,102 @@
+package com.github.irmindev.graph_news.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
+import com.github.irmindev.graph_news.model.graph.NewsGraph;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("NewsGraphCache Unit Tests")
+class NewsGraphCacheTest {
+
+    private NewsGraphCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NewsGraphCache(10, new ObjectMapper(), new IngestionMetrics(new SimpleMeterRegistry()));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load a graph once and serve it from the cache afterwards")
+    void shouldCacheLoadedGraph() {
+        // When
+        NewsGraphCache.Entry first = cache.get(key(1L), () -> load(3));
+        NewsGraphCache.Entry second = cache.get(key(1L), () -> load(3));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that overlapped an invalidation")
+    void shouldNotCacheLoadOverlappingInvalidation() {
+        // Given: the article is rewritten while its old graph is being read
+        NewsGraphCache.Entry stale = cache.get(key(1L), () -> {
+            NewsGraph graph = load(3);
+            cache.invalidate(1L);
+            return graph;
+        });
+
+        // When
+        NewsGraphCache.Entry fresh = cache.get(key(1L), () -> load(4));
+
+        // Then: the stale graph was answered once but not kept
+        assertEquals(2, loads.get());
+        assertEquals(3, stale.graph().getTotalEntities());
+        assertEquals(4, fresh.graph().getTotalEntities());
+    }
+
+    @Test
+    @DisplayName("Should drop every entry of the invalidated articles and keep the others")
+    void shouldInvalidateOnlyGivenArticles() {
+        // Given
+        cache.get(key(1L), () -> load(1));
+        cache.get(new NewsGraphCache.Key(1L, true, 50, 0.5), () -> load(1));
+        cache.get(key(2L), () -> load(2));
+
+        // When
+        cache.invalidateAll(List.of(1L));
+
+        // Then
+        cache.get(key(2L), () -> load(2));
+        assertEquals(3, loads.get());
+        cache.get(key(1L), () -> load(1));
+        assertEquals(4, loads.get());
+        assertEquals(2L, cache.getStats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("Should give the same tag to a reload with the same content")
+    void shouldKeepTagForSameContent() {
+        // Given
+        String etag = cache.get(key(1L), () -> load(3)).etag();
+        cache.invalidate(1L);
+
+        // When & Then
+        assertEquals(etag, cache.get(key(1L), () -> load(3)).etag());
+        assertNotEquals(etag, cache.get(key(2L), () -> load(4)).etag());
+    }
+
+    private NewsGraph load(int totalEntities) {
+        loads.incrementAndGet();
+        NewsGraph graph = new NewsGraph(null, List.of(), List.of());
+        graph.setTotalEntities(totalEntities);
+        return graph;
+    }
+
+    private static NewsGraphCache.Key key(Long newsId) {
+        return new NewsGraphCache.Key(newsId, false, null, 0);
+    }
+}
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,16 +21,32 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.github.irmindev.graph_news.metrics.IngestionMetrics;
 import com.github.irmindev.graph_news.model.dto.NewsDTO;
 import com.github.irmindev.graph_news.model.entity.News;
 import com.github.irmindev.graph_news.model.entity.User;
+import com.github.irmindev.graph_news.model.enums.IngestionJobState;
 import com.github.irmindev.graph_news.model.enums.Role;
 import com.github.irmindev.graph_news.model.exception.EntityNotFoundException;
+import com.github.irmindev.graph_news.model.exception.handler.nlp.PipelineUnavailableExceptionHandler;
+import com.github.irmindev.graph_news.model.exception.news.IngestionRejectedException;
+import com.github.irmindev.graph_news.model.exception.nlp.PipelineUnavailableException;
+import com.github.irmindev.graph_news.model.job.IngestionJob;
+import com.github.irmindev.graph_news.model.nlp.NewsProcessingResult;
+import com.github.irmindev.graph_news.model.response.news.NewsUpload;
 import com.github.irmindev.graph_news.repository.NewsRepository;
 import com.github.irmindev.graph_news.repository.UserRepository;
 import com.github.irmindev.graph_news.utils.HTMLSanitizer;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("NewsService Unit Tests")
 class NewsServiceTest {
@@ -48,8 +66,28 @@ class NewsServiceTest {
     @Mock
     private Neo4jGraphService neo4jGraphService;
 
+    @Mock
+    private GraphGroupCommitWriter graphWriter;
+
+    @Mock
+    private GraphOutboxService graphOutbox;
+
+    @Mock
+    private NewsGraphCache newsGraphCache;
+
+    @Mock
+    private NewsGraphDocumentService graphDocuments;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private IngestionJobService ingestionJobService;
+
     private NewsService newsService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private User testUser;
     private User adminUser;
     private News testNews;
@@ -57,7 +95,10 @@ class NewsServiceTest {
     @BeforeEach
     void setUp() {
         newsService = new NewsService(htmlSanitizer, newsRepository, userRepository, 
-                                    stanfordNLPProcessor, neo4jGraphService);
+                                    stanfordNLPProcessor, neo4jGraphService, graphWriter, graphOutbox, newsGraphCache,
+                                    graphDocuments, new TransactionTemplate(transactionManager), ingestionJobService,
+                                    new ExtractionTraceService(10, 100),
+                                    new IngestionMetrics(meterRegistry));
 
         // Create test user
         testUser = new User();
@@ -233,4 +274,179 @@ class NewsServiceTest {
             newsService.getLatestNews(-1);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should persist news and queue ingestion when submitted asynchronously")
+    void shouldPersistNewsAndQueueIngestionWhenSubmitted() {
+        // Given
+        IngestionJob job = new IngestionJob(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(newsRepository.save(any(News.class))).thenReturn(testNews);
+        when(ingestionJobService.submit(any(), any())).thenReturn(job);
+
+        // When
+        IngestionJob result = newsService.submitNews("Test News Title", "Test news content", 1L, null);
+
+        // Then
+        assertSame(job, result);
+        assertEquals(IngestionJobState.QUEUED, result.getState());
+        verify(newsRepository).save(any(News.class));
+        verify(graphOutbox).enqueue(any(), isNull());
+        verify(ingestionJobService).submit(any(), any());
+        verifyNoInteractions(stanfordNLPProcessor, neo4jGraphService, graphWriter);
+    }
+
+    @Test
+    @DisplayName("Should queue a URL upload without fetching or saving it on the request thread")
+    void shouldQueueUrlUploadBeforeFetching() {
+        // Given
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(ingestionJobService.submit(isNull(), any())).thenReturn(new IngestionJob(null));
+
+        // When
+        IngestionJob result = newsService.submitFromUrl("https://example.com/article", 1L, null, false);
+
+        // Then: the article is saved by the job once the page is fetched
+        assertEquals(IngestionJobState.QUEUED, result.getState());
+        assertNull(result.getNewsId());
+        verify(newsRepository, never()).save(any(News.class));
+        verifyNoInteractions(graphOutbox);
+    }
+
+    @Test
+    @DisplayName("Should delete the article when the ingestion queue rejects it")
+    void shouldDeleteNewsWhenIngestionIsRejected() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(newsRepository.save(any(News.class))).thenReturn(testNews);
+        when(ingestionJobService.submit(any(), any()))
+            .thenThrow(new IngestionRejectedException("Ingestion queue is full, try again later"));
+
+        // When & Then
+        assertThrows(IngestionRejectedException.class,
+            () -> newsService.submitNews("Test News Title", "Test news content", 1L, null));
+        verify(newsRepository).deleteById(testNews.getId());
+        verify(graphOutbox).delete(testNews.getId());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 and drop the article when no NLP pipeline is released in time")
+    void shouldAnswerServiceUnavailableWhenPipelinePoolTimesOut() {
+        // Given: every pipeline stays borrowed past the borrow timeout
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(newsRepository.save(any(News.class))).thenReturn(testNews);
+        when(stanfordNLPProcessor.processNewsText(any(), any(), any(), any()))
+            .thenThrow(new PipelineUnavailableException("No NLP pipeline became available within 10 ms"));
+
+        // When
+        PipelineUnavailableException exception = assertThrows(PipelineUnavailableException.class,
+            () -> newsService.createNews("Test News Title", "Test news content", 1L, null));
+        ResponseEntity<NewsUpload.Failure> response =
+            new PipelineUnavailableExceptionHandler().handlePipelineUnavailableException(exception);
+
+        // Then: the client retries, so the relay must not write this copy too
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verifyNoInteractions(graphWriter);
+        verify(newsRepository).deleteById(testNews.getId());
+        verify(graphOutbox).delete(testNews.getId());
+    }
+
+    @Test
+    @DisplayName("Should leave the graph write to the relay when it claimed the article first")
+    void shouldSkipGraphWriteWhenClaimLost() {
+        // Given
+        givenAnnotatedArticle();
+        when(graphOutbox.claim(1L)).thenReturn(false);
+
+        // When
+        IngestionJob job = runQueuedUpload();
+
+        // Then
+        assertEquals(IngestionJobState.GRAPH_PENDING, job.getState());
+        verifyNoInteractions(graphWriter, graphDocuments);
+        verify(graphOutbox, never()).complete(any());
+        verify(graphOutbox, never()).fail(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave a failed graph write to the relay and count it as a failure")
+    void shouldFailOutboxEntryWhenGraphWriteFails() {
+        // Given
+        givenAnnotatedArticle();
+        when(graphOutbox.claim(1L)).thenReturn(true);
+        when(graphWriter.write(any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Neo4j unavailable")));
+
+        // When
+        IngestionJob job = runQueuedUpload();
+
+        // Then
+        assertEquals(IngestionJobState.GRAPH_PENDING, job.getState());
+        assertTrue(job.getError().contains("Neo4j unavailable"));
+        assertEquals(1.0, articleCount("failure"));
+        assertEquals(0.0, articleCount("success"));
+        verify(graphOutbox).fail(1L, "Neo4j unavailable");
+        verify(graphOutbox, never()).complete(any());
+        verifyNoInteractions(graphDocuments);
+    }
+
+    @Test
+    @DisplayName("Should complete the outbox entry and materialize the document after the graph write")
+    void shouldCompleteOutboxEntryAfterGraphWrite() {
+        // Given
+        givenAnnotatedArticle();
+        when(graphOutbox.claim(1L)).thenReturn(true);
+        when(graphWriter.write(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        IngestionJob job = runQueuedUpload();
+
+        // Then
+        assertEquals(IngestionJobState.DONE, job.getState());
+        assertEquals(1.0, articleCount("success"));
+        verify(graphOutbox).complete(1L);
+        verify(graphOutbox, never()).fail(any(), any());
+        verify(graphDocuments).materialize(1L);
+    }
+
+    @Test
+    @DisplayName("Should not record a committed graph write as failed when completing its outbox entry fails")
+    void shouldKeepCommittedGraphWriteWhenCompleteFails() {
+        // Given
+        givenAnnotatedArticle();
+        when(graphOutbox.claim(1L)).thenReturn(true);
+        when(graphWriter.write(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        doThrow(new IllegalStateException("Connection reset")).when(graphOutbox).complete(1L);
+
+        // When
+        IngestionJob job = runQueuedUpload();
+
+        // Then: the claim expires and the relay rewrites the article idempotently
+        assertEquals(IngestionJobState.DONE, job.getState());
+        verify(graphOutbox, never()).fail(any(), any());
+        verify(graphDocuments).materialize(1L);
+    }
+
+    // Submits the article and runs its job right away on the test thread
+    private IngestionJob runQueuedUpload() {
+        when(ingestionJobService.submit(any(), any())).thenAnswer(invocation -> {
+            IngestionJob job = new IngestionJob(invocation.getArgument(0));
+            Consumer<IngestionJob> work = invocation.getArgument(1);
+            work.accept(job);
+            return job;
+        });
+        return newsService.submitNews("Test News Title", "Test news content", 1L, null);
+    }
+
+    private double articleCount(String outcome) {
+        Counter counter = meterRegistry.find("ingestion.articles").tag("outcome", outcome).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private void givenAnnotatedArticle() {
+        ReflectionTestUtils.setField(testNews, "id", 1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(newsRepository.save(any(News.class))).thenReturn(testNews);
+        when(stanfordNLPProcessor.processNewsText(any(), any(), any(), any())).thenReturn(new NewsProcessingResult());
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.irmindev.graph_news.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EntityIndex Unit Tests")
+class EntityIndexTest {
+
+    private EntityIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EntityIndex<>();
+        index.add("Barack Obama", "obama");
+        index.add("Congress", "congress");
+        index.add("Bank of Mexico", "banxico");
+    }
+
+    @Test
+    @DisplayName("Should match names ignoring case and punctuation")
+    void shouldMatchExactNames() {
+        // When / Then
+        assertEquals("obama", index.findExact("barack obama"));
+        assertEquals("banxico", index.findExact(" Bank of  Mexico, "));
+        assertNull(index.findExact("Obama"));
+    }
+
+    @Test
+    @DisplayName("Should find the entity that contains the text")
+    void shouldFindEntityContainingText() {
+        // When / Then
+        assertEquals("obama", index.findContaining("Obama"));
+        assertEquals("banxico", index.findContaining("of Mexico"));
+        assertNull(index.findContaining("Mexico City"));
+    }
+
+    @Test
+    @DisplayName("Should find the longest entity mentioned inside the text")
+    void shouldFindEntityContainedInText() {
+        // Given
+        index.add("Mexico", "mexico");
+
+        // When / Then
+        assertEquals("congress", index.findContainedIn("the members of Congress"));
+        assertEquals("banxico", index.findContainedIn("the Bank of Mexico said"));
+        assertNull(index.findContainedIn("the senate"));
+    }
+
+    @Test
+    @DisplayName("Should only match whole tokens")
+    void shouldOnlyMatchWholeTokens() {
+        // When / Then
+        assertNull(index.findContaining("Ob"));
+        assertNull(index.findContainedIn("Congressional budget"));
+    }
+}
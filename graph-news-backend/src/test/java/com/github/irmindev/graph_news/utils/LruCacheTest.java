@@ -0,0 +1,64 @@
+package com.github.irmindev.graph_news.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LruCache Unit Tests")
+class LruCacheTest {
+
+    @Test
+    @DisplayName("Should evict the least recently used entry")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // When
+        cache.put("c", 3);
+
+        // Then
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void shouldCountHitsAndMisses() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.put("a", 1);
+
+        // When
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        // Then
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Should remove entries matching a predicate")
+    void shouldRemoveEntriesMatchingPredicate() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 1);
+
+        // When
+        int removed = cache.removeIf((key, value) -> value == 1);
+
+        // Then
+        assertEquals(2, removed);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.get("b"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.irmindev.graph_news.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RelationVocabulary Unit Tests")
+class RelationVocabularyTest {
+
+    private final RelationVocabulary vocabulary = RelationVocabulary.parse(List.of(
+        "# comment",
+        "ACQUIRED = acquire, buy, take over",
+        "LEADS = lead, president of",
+        "MET_WITH = meet, speak with"
+    ), "RELATED_TO");
+
+    @Test
+    @DisplayName("Should map relations by their longest known sub-phrase")
+    void shouldMapByLongestSubPhrase() {
+        assertEquals("ACQUIRED", vocabulary.map("acquire"));
+        assertEquals("ACQUIRED", vocabulary.map("be take over by"));
+        assertEquals("LEADS", vocabulary.map("be President of"));
+        assertEquals("MET_WITH", vocabulary.map("speak with"));
+    }
+
+    @Test
+    @DisplayName("Should fall back for unknown relations")
+    void shouldFallBackForUnknownRelations() {
+        assertEquals("RELATED_TO", vocabulary.map("sing"));
+        assertEquals("RELATED_TO", vocabulary.map(null));
+        assertTrue(vocabulary.contains("RELATED_TO"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid type names")
+    void shouldRejectInvalidTypeNames() {
+        assertThrows(IllegalArgumentException.class,
+            () -> RelationVocabulary.parse(List.of("acquired` = buy"), "RELATED_TO"));
+        assertThrows(IllegalArgumentException.class,
+            () -> RelationVocabulary.parse(List.of("no separator"), "RELATED_TO"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.irmindev.graph_news.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TextChunker Unit Tests")
+class TextChunkerTest {
+
+    @Test
+    @DisplayName("Should keep short texts in a single chunk")
+    void shouldKeepShortTextsInSingleChunk() {
+        // Given
+        String text = "First sentence. Second sentence.";
+
+        // When
+        List<String> chunks = TextChunker.split(text, 100);
+
+        // Then
+        assertEquals(1, chunks.size());
+        assertEquals(text, chunks.get(0));
+    }
+
+    @Test
+    @DisplayName("Should split at paragraph boundaries before the limit")
+    void shouldSplitAtParagraphBoundaries() {
+        // Given
+        String first = "The president met the minister. They discussed trade.";
+        String second = "Markets reacted on Monday. Stocks went up.";
+        String text = first + "\n\n" + second;
+
+        // When
+        List<String> chunks = TextChunker.split(text, 60);
+
+        // Then
+        assertEquals(List.of(first, second), chunks);
+    }
+
+    @Test
+    @DisplayName("Should split long paragraphs at sentence boundaries")
+    void shouldSplitLongParagraphsAtSentenceBoundaries() {
+        // Given
+        String text = "Alpha beta gamma. Delta epsilon zeta. Eta theta iota.";
+
+        // When
+        List<String> chunks = TextChunker.split(text, 20);
+
+        // Then
+        assertEquals(List.of("Alpha beta gamma.", "Delta epsilon zeta.", "Eta theta iota."), chunks);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 20));
+    }
+
+    @Test
+    @DisplayName("Should never produce chunks above the limit")
+    void shouldNeverProduceChunksAboveTheLimit() {
+        // Given
+        String text = "word ".repeat(200);
+
+        // When
+        List<String> chunks = TextChunker.split(text, 50);
+
+        // Then
+        assertTrue(chunks.size() > 1);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 50));
+        assertEquals(200, String.join(" ", chunks).split("\\s+").length);
+    }
+}
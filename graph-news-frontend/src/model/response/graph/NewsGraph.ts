@@ -6,6 +6,7 @@ interface NewsGraph {
     news: NewsNode;
     entities: EntityNode[];
     relationships: EntityRelationship[];
+    totalEntities: number;
 }
 
 export default NewsGraph;
\ No newline at end of file
@@ -1,7 +1,7 @@
 interface NewsNode {
     id: string;
     title: string;
-    text: string;
+    text?: string;
     sourceId: number;
     createdAt: string;
 }
@@ -4,9 +4,14 @@ import ErrorResponse from "../model/response/ErrorResponse";
 
 const API_URL = import.meta.env.VITE_API_URL as string || "http://localhost:8080";
 
-async function getNewsGraph(newsId: string): Promise<GraphResponse> {
+interface NewsGraphOptions {
+    maxEntities?: number;
+    minConfidence?: number;
+}
+
+async function getNewsGraph(newsId: string, options: NewsGraphOptions = {}): Promise<GraphResponse> {
     try {
-        const response = await axios.get(`${API_URL}/api/graph/news/${newsId}`);
+        const response = await axios.get(`${API_URL}/api/graph/news/${newsId}`, { params: options });
         return response.data as GraphResponse;
     } catch (error) {
         if(axios.isAxiosError(error) && error.response) {
@@ -10,6 +10,8 @@ import { motion } from 'framer-motion';
 import { Network, Calendar, ArrowLeft, Maximize, RotateCw, Cpu, Layers, ChevronDown, HelpCircle, Activity } from 'lucide-react';
 import GraphExporter from '../components/news/GraphExporter';
 
+const MAX_GRAPH_ENTITIES = 200;
+
 interface GraphData {
   nodes: Node[];
   links: Link[];
@@ -85,7 +87,8 @@ const GraphVisualization: React.FC = () => {
         }
         
         // Fetch graph data
-        const graphResponse = await getNewsGraph(newsId);
+        // Larger graphs are cut to their most mentioned entities to keep the view responsive
+        const graphResponse = await getNewsGraph(newsId, { maxEntities: MAX_GRAPH_ENTITIES });
         if (graphResponse && graphResponse.graph) {
           transformGraphData(graphResponse.graph);
           console.log('Graph Response:', graphResponse);